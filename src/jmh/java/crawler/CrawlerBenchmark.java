@@ -0,0 +1,41 @@
+package crawler;
+
+import org.openjdk.jmh.annotations.*;
+import utils.BenchmarkPages;
+import utils.Html;
+import utils.Link;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link DefaultCrawler#crawl(Html)} on already parsed page, parsing is measured by HtmlBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CrawlerBenchmark {
+    @Param({
+            "www.kanzlei-hoffmann-partner.de.html",
+            "www.mueller-haustechnik.de.html",
+            "www.schwarz-maschinenbau.de.html"
+    })
+    private String page;
+    private Html html;
+    private final Crawler crawler = new DefaultCrawler();
+
+    @Setup
+    public void setUp() throws IOException {
+        html = BenchmarkPages.load(page);
+        html.getDocument();
+    }
+
+    @Benchmark
+    public Collection<Link> crawl() {
+        return crawler.crawl(html);
+    }
+}
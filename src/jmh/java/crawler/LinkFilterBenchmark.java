@@ -0,0 +1,44 @@
+package crawler;
+
+import config.ConfigurationUtils;
+import org.openjdk.jmh.annotations.*;
+import utils.BenchmarkPages;
+import utils.Link;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link DefaultLinkFilter#filter(Collection, Link)} for all links of page. New filter is created for every
+ * invocation, so links are not filtered as already occurred
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LinkFilterBenchmark {
+    @Param({
+            "www.kanzlei-hoffmann-partner.de.html",
+            "www.mueller-haustechnik.de.html",
+            "www.schwarz-maschinenbau.de.html"
+    })
+    private String page;
+    private Collection<Link> links;
+    private Link url;
+
+    @Setup
+    public void setUp() throws IOException {
+        ConfigurationUtils.configure();
+        var html = BenchmarkPages.load(page);
+        url = html.getUrl();
+        links = new DefaultCrawler().crawl(html);
+    }
+
+    @Benchmark
+    public Collection<Link> filter() {
+        return new DefaultLinkFilter().filter(links, url);
+    }
+}
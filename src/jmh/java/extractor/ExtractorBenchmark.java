@@ -0,0 +1,54 @@
+package extractor;
+
+import org.openjdk.jmh.annotations.*;
+import utils.Html;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link DefaultExtractor} with {@link StreamingExtractor} on pages from tests and benchmark pages.
+ * <p>
+ * Html is created for every invocation, because {@link Html} caches parsed document and
+ * {@link DefaultExtractor} would not parse page again otherwise.
+ * Run with <i>gradle jmh</i>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExtractorBenchmark {
+    @Param({
+            "encodings/UTF8.html",
+            "encodings/Windows1251_meta1.html",
+            "html_for_test.html",
+            "telefort.spb.ru.html",
+            "wikipedia.html",
+            "benchmark/www.kanzlei-hoffmann-partner.de.html",
+            "benchmark/www.mueller-haustechnik.de.html",
+            "benchmark/www.schwarz-maschinenbau.de.html"
+    })
+    private String page;
+    private String html;
+    private final Extractor defaultExtractor = new DefaultExtractor();
+    private final Extractor streamingExtractor = new StreamingExtractor();
+
+    @Setup
+    public void setUp() throws IOException {
+        html = Html.fromFile(Paths.get("src/test/resources", page)).toString();
+    }
+
+    @Benchmark
+    public Collection<String> defaultExtractor() {
+        return defaultExtractor.extract(new Html(html));
+    }
+
+    @Benchmark
+    public Collection<String> streamingExtractor() {
+        return streamingExtractor.extract(new Html(html));
+    }
+}
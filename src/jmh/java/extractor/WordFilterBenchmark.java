@@ -0,0 +1,41 @@
+package extractor;
+
+import config.ConfigurationUtils;
+import org.openjdk.jmh.annotations.*;
+import utils.BenchmarkPages;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link DefaultWordFilter#filter(Collection)} for all words of page
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WordFilterBenchmark {
+    @Param({
+            "www.kanzlei-hoffmann-partner.de.html",
+            "www.mueller-haustechnik.de.html",
+            "www.schwarz-maschinenbau.de.html"
+    })
+    private String page;
+    private Collection<String> words;
+    private WordFilter wordFilter;
+
+    @Setup
+    public void setUp() throws IOException {
+        ConfigurationUtils.configure();
+        wordFilter = new DefaultWordFilter();
+        words = new DefaultExtractor().extract(BenchmarkPages.load(page));
+    }
+
+    @Benchmark
+    public Collection<String> filter() {
+        return wordFilter.filter(words);
+    }
+}
@@ -0,0 +1,41 @@
+package utils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pages of german company sites used by benchmarks. File name is host of the page, so relative links are
+ * resolved like on real site.
+ */
+public class BenchmarkPages {
+    public static final String DIRECTORY = "src/test/resources/benchmark";
+
+    // prevents class instantiation
+    private BenchmarkPages() {}
+
+    /**
+     * @param page file name of page
+     * @return page with its url
+     */
+    public static Html load(String page) throws IOException {
+        var host = page.substring(0, page.length() - ".html".length());
+        return Html.fromFile(Paths.get(DIRECTORY, page), new Link("https://" + host));
+    }
+
+    /**
+     * @return all pages of corpus
+     */
+    public static List<Html> loadAll() throws IOException {
+        var pages = new ArrayList<Html>();
+        try (var files = Files.list(Paths.get(DIRECTORY))) {
+            for (Path file : (Iterable<Path>) files.sorted()::iterator) {
+                pages.add(load(file.getFileName().toString()));
+            }
+        }
+        return pages;
+    }
+}
@@ -0,0 +1,44 @@
+package utils;
+
+import org.jsoup.nodes.Document;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creation of {@link Html} with lang detection and parsing of html by jsoup
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HtmlBenchmark {
+    @Param({
+            "www.kanzlei-hoffmann-partner.de.html",
+            "www.mueller-haustechnik.de.html",
+            "www.schwarz-maschinenbau.de.html"
+    })
+    private String page;
+    private String html;
+    private Link url;
+
+    @Setup
+    public void setUp() throws IOException {
+        var loaded = BenchmarkPages.load(page);
+        html = loaded.toString();
+        url = loaded.getUrl();
+    }
+
+    @Benchmark
+    public String lang() {
+        return new Html(html, url).getLang();
+    }
+
+    @Benchmark
+    public Document parse() {
+        return new Html(html, url).getDocument();
+    }
+}
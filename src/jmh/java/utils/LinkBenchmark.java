@@ -0,0 +1,58 @@
+package utils;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creation of {@link Link} (new and shared by {@link LinkFactory}) and {@link Link#fixWWW()} for all links of
+ * benchmark pages, one operation handles all links
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LinkBenchmark {
+    private final List<String> urls = new ArrayList<>();
+    private final List<Link> links = new ArrayList<>();
+
+    @Setup
+    public void setUp() throws IOException {
+        for (Html page : BenchmarkPages.loadAll()) {
+            for (var element : page.getDocument().select("a[href]")) {
+                var url = element.attr("abs:href");
+                try {
+                    links.add(new Link(url));
+                    urls.add(url);
+                } catch (WrongFormedLinkException ignored) {}
+            }
+        }
+    }
+
+    @Benchmark
+    public void create(Blackhole blackhole) {
+        for (String url : urls) {
+            blackhole.consume(new Link(url));
+        }
+    }
+
+    @Benchmark
+    public void createFromFactory(Blackhole blackhole) {
+        for (String url : urls) {
+            blackhole.consume(LinkFactory.getLink(url));
+        }
+    }
+
+    @Benchmark
+    public void fixWWW(Blackhole blackhole) {
+        for (Link link : links) {
+            blackhole.consume(link.fixWWW());
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package utils;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Language and charset detection of {@link Html} on generated pages that are hard for tag search: big inline JSON,
+ * thousands of meta tags and unclosed tags without <i>"&gt;"</i>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PathologicalHtmlBenchmark {
+    private static final String HEAD = "<!DOCTYPE html><html lang=\"de\"><head><meta charset=\"utf-8\">"
+            + "<title>Titel</title></head><body>";
+
+    @Param({"inlineJson", "manyMetaTags", "unclosedTags", "noHead"})
+    private String page;
+    private String html;
+
+    @Setup
+    public void setUp() {
+        switch (page) {
+            case "inlineJson":
+                html = HEAD + "<script type=\"application/json\">"
+                        + "{\"html\": \"<meta name='language' content='en'>\", \"id\": 1},".repeat(50_000)
+                        + "</script></body></html>";
+                break;
+            case "manyMetaTags":
+                html = HEAD + "<meta itemprop=\"price\" content=\"10\">".repeat(50_000) + "</body></html>";
+                break;
+            case "unclosedTags":
+                html = HEAD + "<meta <html ".repeat(50_000);
+                break;
+            case "noHead":
+                html = "<p>" + "Text ohne Kopf und ohne Sprache ".repeat(100_000) + "</p>";
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown page " + page);
+        }
+    }
+
+    @Benchmark
+    public String lang() {
+        return new Html(html).getLang();
+    }
+
+    @Benchmark
+    public String charset() {
+        return HtmlHeadSniffer.sniff(html).getCharset();
+    }
+}
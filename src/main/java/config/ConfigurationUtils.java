@@ -34,6 +34,24 @@ public class ConfigurationUtils {
         setConsoleEncoding();
     }
 
+    /**
+     * Gets integer property from {@link System}, if property is absent or is not a number returns default value
+     *
+     * @param key name of property
+     * @param defaultValue value that is used when property is absent or malformed
+     * @return value of property
+     */
+    public static int getIntProperty(String key, int defaultValue) {
+        var value = System.getProperty(key);
+        if (value == null) return defaultValue;
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            LoggerUtils.debugLog.error("ConfigurationUtils - Property {} is not a number: {}", key, value);
+            return defaultValue;
+        }
+    }
+
     /**
      * Adds to collection all lines from resource
      *
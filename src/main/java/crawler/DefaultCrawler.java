@@ -1,12 +1,12 @@
 package crawler;
 
 import org.jetbrains.annotations.NotNull;
-import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 import org.jsoup.select.Elements;
 import utils.Html;
 import utils.Link;
+import utils.LinkFactory;
 import utils.WrongFormedLinkException;
 
 import java.util.Collection;
@@ -15,20 +15,20 @@ import java.util.Set;
 
 /**
  * Class responsible for extracting links from html
- * Ignores not valid urls
+ * Ignores not valid urls. Links are taken from {@link LinkFactory}, links of menu and footer are shared by pages
  */
 public class DefaultCrawler implements Crawler {
     @Override
     public Collection<Link> crawl(@NotNull Html html) {
         Set<Link> list = new HashSet<>();
-        Document doc = Jsoup.parse(html.toString(), html.getUrl().toString());
+        Document doc = html.getDocument();
         Elements linksOnPage = doc.select("a[href]");
 
         for (Element page : linksOnPage) {
             try {
                 var attr = page.attr("abs:href");
                 if (attr.equals("")) continue;
-                Link url = new Link(attr);
+                Link url = LinkFactory.getLink(attr);
                 if (url != html.getUrl()) {
                     list.add(url);
                 }
@@ -8,50 +8,45 @@ import utils.Parameter;
 
 import java.util.Collection;
 import java.util.HashSet;
-import java.util.Objects;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * DefaultLinkFilter removes:
- * <ul><li>links that have path segment from {@link DefaultLinkFilter#ignoredLinks}
- * <li>links that have first path segment from {@link DefaultLinkFilter#ignoredLanguages} which is not matching
- * site.langs property
- * <li>links which file extension is not present in {@link DefaultLinkFilter#allowedFileExtensions}
- * <li>links with subdomains from {@link DefaultLinkFilter#ignoredSubdomains}
+ * <ul><li>links that have path segment from <i>ignored_links.txt</i>, with or without allowed file extension
+ * <li>links that have first path segment from <i>languages.txt</i> which is not matching site.langs property
+ * <li>links which file extension is not present in <i>file_extensions.txt</i>
+ * <li>links with subdomains from <i>ignored_subdomains.txt</i>
  * <li>links which host name is not a domain or subdomain of page url
  * <li>repeating links. Links are separated by its subdomains (not <i>"www"</i>), path segments and
- * selected query params from {@link DefaultLinkFilter#getContentParams(Link)}.
+ * selected query params from {@link DefaultLinkFilter#getContentParams(Link)}. Only 64-bit fingerprints of
+ * occurred links are kept, see {@link DefaultLinkFilter#getFingerprint(String, Set, Set)}.
  * <li>links with fragment
  * <li>links with user info<ul/>
  */
 public class DefaultLinkFilter implements LinkFilter {
-    private static final Set<String> ignoredLanguages = new HashSet<>();
     private static final Set<String> allowedFileExtensions = new HashSet<>();
-    private static final Set<String> ignoredLinks = new HashSet<>();
-    private static final Set<String> ignoredSubdomains = new HashSet<>();
+    private static final LinkRules rules;
 
     static {
         ConfigurationUtils.parseResourceToCollection(
                 "file_extensions.txt", allowedFileExtensions, DefaultLinkFilter.class
         );
+        var ignoredLanguages = new HashSet<String>();
         ConfigurationUtils.parseResourceToCollection("languages.txt", ignoredLanguages, DefaultLinkFilter.class);
-        var ignoredLinksFormFile = new HashSet<String>();
-        ConfigurationUtils.parseResourceToCollection(
-                "ignored_links.txt", ignoredLinksFormFile, DefaultLinkFilter.class
-        );
-        for (String l : ignoredLinksFormFile) {
-            ignoredLinks.add(l);
-            for (String fe : allowedFileExtensions) {
-                ignoredLinks.add(l + "." + fe);
-            }
-        }
+        var ignoredLinks = new HashSet<String>();
+        ConfigurationUtils.parseResourceToCollection("ignored_links.txt", ignoredLinks, DefaultLinkFilter.class);
+        var ignoredSubdomains = new HashSet<String>();
         ConfigurationUtils.parseResourceToCollection(
                 "ignored_subdomains.txt", ignoredSubdomains, DefaultLinkFilter.class
         );
+        rules = new LinkRules(ignoredLinks, ignoredLanguages, allowedFileExtensions, ignoredSubdomains);
     }
 
-    private final Set<LinkIdentifiers> occurredLinks = ConcurrentHashMap.newKeySet();
+    // FNV-1a 64 constants
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final FingerprintSet occurredLinks = new FingerprintSet();
 
     public DefaultLinkFilter() {
         if (allowedFileExtensions.isEmpty()) {
@@ -63,20 +58,19 @@ public class DefaultLinkFilter implements LinkFilter {
      * Adds typical home page names to occurred links
      */
     public void addDomain() {
-        occurredLinks.add(new LinkIdentifiers(""));
-        occurredLinks.add(new LinkIdentifiers("index"));
+        occurredLinks.add(getFingerprint("", Set.of(), Set.of()));
+        occurredLinks.add(getFingerprint("index", Set.of(), Set.of()));
         for (String fileExtension : allowedFileExtensions) {
-            occurredLinks.add(new LinkIdentifiers("/index." + fileExtension));
+            occurredLinks.add(getFingerprint("/index." + fileExtension, Set.of(), Set.of()));
         }
     }
 
     @Override
     public Collection<Link> filter(@NotNull Collection<Link> links, Link currentLink) {
         Set<Link> res = new HashSet<>();
-        occurredLinks.add(getLinkIdentifiers(currentLink));
+        occurredLinks.add(getFingerprint(currentLink));
         for (Link link : links) {
-            var linkIdentifiers = getLinkIdentifiers(link);
-            if (isLinkSuitable(link.fixWWW(), currentLink.fixWWW()) && isLinkNotOccurred(linkIdentifiers)) {
+            if (isLinkSuitable(link.fixWWW(), currentLink.fixWWW()) && occurredLinks.add(getFingerprint(link))) {
                 res.add(link);
             }
         }
@@ -85,21 +79,55 @@ public class DefaultLinkFilter implements LinkFilter {
 
     @Override
     public Collection<Link> filter(@NotNull Collection<Link> links, Link currentLink, Link initialLink) {
-        occurredLinks.add(getLinkIdentifiers(initialLink));
+        occurredLinks.add(getFingerprint(initialLink));
         return filter(links, currentLink);
     }
 
-    private LinkIdentifiers getLinkIdentifiers(Link link) {
-        return new LinkIdentifiers(link.getPath(), getContentParams(link), link.getSubdomains());
+    private long getFingerprint(Link link) {
+        return getFingerprint(link.getPath(), getContentParams(link), link.getSubdomains());
+    }
+
+    /*
+        Fingerprint of path, params and subdomains, order of params and subdomains does not matter.
+        Different links have the same fingerprint with probability about n^2 / 2^65 for n links of domain
+        (less than 10^-9 for 100 000 links), then the second link is considered as repeated
+     */
+    private static long getFingerprint(String path, Set<Parameter> params, Set<String> subdomains) {
+        var paramsHash = 0L;
+        for (Parameter param : params) {
+            paramsHash += mix(hash(hash(FNV_OFFSET_BASIS, param.getName()) * FNV_PRIME, param.getValue()));
+        }
+        var subdomainsHash = 0L;
+        for (String subdomain : subdomains) {
+            subdomainsHash += mix(hash(FNV_OFFSET_BASIS, subdomain));
+        }
+        var fingerprint = mix(hash(FNV_OFFSET_BASIS, path));
+        fingerprint = mix(fingerprint * 31 + paramsHash);
+        return mix(fingerprint * 31 + subdomainsHash);
+    }
+
+    private static long hash(long hash, String s) {
+        for (int i = 0; i < s.length(); i++) {
+            hash = (hash ^ s.charAt(i)) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    // finalizer of MurmurHash3, spreads every bit of input to all bits
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
     }
 
     private boolean isLinkSuitable(Link link, Link currentLink) {
         return isOnSameDomain(link, currentLink)
                 && hasNoFragment(link)
                 && hasNoUserInfo(link)
-                && hasRightLang(link)
-                && hasUsefulInfo(link)
-                && isFileExtensionSuitable(link);
+                && rules.isSuitable(link.getPath(), link.getHost());
     }
 
     private boolean isOnSameDomain(Link link, Link currentLink) {
@@ -114,59 +142,6 @@ public class DefaultLinkFilter implements LinkFilter {
         return link.getUserInfo() == null;
     }
 
-    private boolean hasRightLang(Link link) {
-        var path = link.getPath();
-        if (!path.equals("")) {
-            var pathWithoutSlash = path.substring(1);
-            var firstSegment = pathWithoutSlash.substring(0, indexOfSlash(pathWithoutSlash));
-            if (!firstSegment.isEmpty()) {
-                var propertySplit = System.getProperty("site.langs").split(",");
-                for (String lang : propertySplit) {
-                    if (lang.equals(firstSegment)) return true;
-                }
-                return !ignoredLanguages.contains(firstSegment.toLowerCase());
-            }
-        }
-        return true;
-    }
-
-    private boolean hasUsefulInfo(Link link) {
-        var paths = link.getPath().split("/");
-        for (String path : paths) {
-            if (!path.equals("") && ignoredLinks.contains(path.toLowerCase())) return false;
-        }
-        var subdomains = link.getSubdomains();
-        for (String subdomain : subdomains) {
-            if (ignoredSubdomains.contains(subdomain.toLowerCase())) return false;
-        }
-        return true;
-    }
-
-    private boolean isFileExtensionSuitable(Link link) {
-        var path = link.getPath();
-        if (!path.equals("")) {
-            var lastIndex = path.lastIndexOf('/');
-            var lastSegment = path.substring(lastIndex);
-            // last array part is file extension if array has size > 1
-            var lastSegmentSplit = lastSegment.split("\\.");
-            if (lastSegmentSplit.length == 1) {
-                return true;
-            } else {
-                return allowedFileExtensions.contains(lastSegmentSplit[lastSegmentSplit.length - 1].toLowerCase());
-            }
-        } else {
-            return true;
-        }
-    }
-
-    private synchronized boolean isLinkNotOccurred(LinkIdentifiers linkIdentifiers) {
-        var contains = occurredLinks.contains(linkIdentifiers);
-        if (!contains) {
-            occurredLinks.add(linkIdentifiers);
-        }
-        return !contains;
-    }
-
     private Set<Parameter> getContentParams(Link link) {
         var params = link.getParams();
         var res = new HashSet<Parameter>();
@@ -182,53 +157,4 @@ public class DefaultLinkFilter implements LinkFilter {
         }
         return res;
     }
-
-    private int indexOfSlash(String str) {
-        var indexOf = str.indexOf('/');
-        return indexOf != -1 ? indexOf : str.length();
-    }
-
-    // for link occurrence check
-    private static class LinkIdentifiers {
-
-        private final String path;
-        private final Set<Parameter> params;
-        private final Set<String> subDomains;
-
-        public LinkIdentifiers(String path) {
-            this.path = path;
-            this.params = new HashSet<>();
-            this.subDomains = new HashSet<>();
-        }
-
-        public LinkIdentifiers(String path, Set<Parameter> params, Set<String> subDomains) {
-            this.path = path;
-            this.params = params;
-            this.subDomains = subDomains;
-        }
-
-        @Override
-        public boolean equals(Object o) {
-            if (this == o) return true;
-            if (o == null || getClass() != o.getClass()) return false;
-            LinkIdentifiers that = (LinkIdentifiers) o;
-            return Objects.equals(path, that.path) &&
-                    Objects.equals(params, that.params) &&
-                    Objects.equals(subDomains, that.subDomains);
-        }
-
-        @Override
-        public int hashCode() {
-            return Objects.hash(path, params, subDomains);
-        }
-
-        @Override
-        public String toString() {
-            return "RelativeURL{" +
-                    "path='" + path + '\'' +
-                    ", params=" + params +
-                    ", subdomains=" + subDomains +
-                    '}';
-        }
-    }
 }
@@ -0,0 +1,114 @@
+package crawler;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Thread safe set of 64-bit fingerprints, 8 bytes for every element.
+ * <p>
+ * Open addressing table with linear probing, free slot is 0 and is taken with CAS, so threads that add
+ * fingerprints do not block each other. They share read lock of {@link StampedLock} that becomes exclusive only
+ * while table grows (when it is half full). Fingerprint 0 is kept in separate flag.
+ * Elements cannot be removed.
+ */
+class FingerprintSet {
+    private static final int DEFAULT_CAPACITY = 256;
+
+    private final StampedLock resizeLock = new StampedLock();
+    private final AtomicInteger size = new AtomicInteger(0);
+    private final AtomicBoolean containsZero = new AtomicBoolean(false);
+    private volatile AtomicLongArray table = new AtomicLongArray(DEFAULT_CAPACITY);
+
+    /**
+     * @param fingerprint fingerprint to add
+     * @return true if fingerprint was not in set
+     */
+    boolean add(long fingerprint) {
+        if (fingerprint == 0) return containsZero.compareAndSet(false, true);
+        while (true) {
+            var stamp = resizeLock.readLock();
+            var table = this.table;
+            var mask = table.length() - 1;
+            var index = (int) spread(fingerprint) & mask;
+            var inserted = false;
+            try {
+                for (int probes = 0; probes <= mask; probes++) {
+                    var current = table.get(index);
+                    if (current == fingerprint) return false;
+                    if (current == 0) {
+                        if (table.compareAndSet(index, 0, fingerprint)) {
+                            inserted = true;
+                            break;
+                        }
+                        // other thread took slot, check it again
+                        probes--;
+                        continue;
+                    }
+                    index = (index + 1) & mask;
+                }
+            } finally {
+                resizeLock.unlockRead(stamp);
+            }
+            if (inserted) {
+                if (size.incrementAndGet() > table.length() / 2) {
+                    grow(table);
+                }
+                return true;
+            }
+            // all slots are taken by threads that did not grow table yet
+            grow(table);
+        }
+    }
+
+    boolean contains(long fingerprint) {
+        if (fingerprint == 0) return containsZero.get();
+        var stamp = resizeLock.readLock();
+        try {
+            var table = this.table;
+            var mask = table.length() - 1;
+            var index = (int) spread(fingerprint) & mask;
+            for (int probes = 0; probes <= mask; probes++) {
+                var current = table.get(index);
+                if (current == fingerprint) return true;
+                if (current == 0) return false;
+                index = (index + 1) & mask;
+            }
+            return false;
+        } finally {
+            resizeLock.unlockRead(stamp);
+        }
+    }
+
+    int size() {
+        return size.get() + (containsZero.get() ? 1 : 0);
+    }
+
+    private void grow(AtomicLongArray full) {
+        var stamp = resizeLock.writeLock();
+        try {
+            // other thread has already grown it
+            if (table != full) return;
+            var grown = new AtomicLongArray(full.length() * 2);
+            var mask = grown.length() - 1;
+            for (int i = 0; i < full.length(); i++) {
+                var fingerprint = full.get(i);
+                if (fingerprint == 0) continue;
+                var index = (int) spread(fingerprint) & mask;
+                while (grown.get(index) != 0) {
+                    index = (index + 1) & mask;
+                }
+                grown.set(index, fingerprint);
+            }
+            table = grown;
+        } finally {
+            resizeLock.unlockWrite(stamp);
+        }
+    }
+
+    // low bits of fingerprint choose slot, high bits are mixed in
+    private static long spread(long fingerprint) {
+        return fingerprint ^ (fingerprint >>> 32);
+    }
+}
@@ -0,0 +1,193 @@
+package crawler;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Rules of {@link DefaultLinkFilter} compiled into one trie of words: ignored path segments, languages, allowed file
+ * extensions and ignored subdomains. Every word node keeps flags of the rule sets it belongs to.
+ * <p>
+ * Link is checked in one left-to-right pass over path and host, chars are lowercased on the fly and looked up in
+ * trie, so no substrings are created and time does not depend on number of rules. Ignored segment followed by
+ * allowed file extension (<i>"impressum.html"</i>) is matched while walking, not expanded to every combination.
+ */
+class LinkRules {
+    private static final int LANGUAGE = 1;
+    private static final int IGNORED_SEGMENT = 2;
+    private static final int FILE_EXTENSION = 4;
+    private static final int IGNORED_SUBDOMAIN = 8;
+
+    private final Node root = new Node();
+    // site.langs property and its values, parsed again only if property is replaced
+    private volatile SiteLangs siteLangs = new SiteLangs(null);
+
+    /**
+     * @param ignoredSegments   path segments of links without useful info
+     * @param languages         first path segments of links in other languages
+     * @param fileExtensions    allowed file extensions
+     * @param ignoredSubdomains subdomains of links without useful info
+     */
+    LinkRules(Collection<String> ignoredSegments, Collection<String> languages,
+              Collection<String> fileExtensions, Collection<String> ignoredSubdomains) {
+        addAll(ignoredSegments, IGNORED_SEGMENT);
+        addAll(languages, LANGUAGE);
+        addAll(fileExtensions, FILE_EXTENSION);
+        addAll(ignoredSubdomains, IGNORED_SUBDOMAIN);
+    }
+
+    /**
+     * Checks that link has right language, has useful info and suitable file extension
+     *
+     * @param path path of link, {@code ""} or starts with {@code "/"}
+     * @param host host of link, may be {@code null}
+     * @return true if link is suitable
+     */
+    boolean isSuitable(String path, String host) {
+        return isPathSuitable(path) && isHostSuitable(host);
+    }
+
+    private boolean isPathSuitable(String path) {
+        var length = path.length();
+        if (length == 0) return true;
+        // path starts with '/'
+        var start = 1;
+        var first = true;
+        while (true) {
+            var end = start;
+            while (end < length && path.charAt(end) != '/') {
+                end++;
+            }
+            if (end > start) {
+                if (first && !hasRightLang(path, start, end)) return false;
+                if (isIgnoredSegment(path, start, end)) return false;
+            }
+            if (end == length) return isFileExtensionSuitable(path, start, end);
+            first = false;
+            start = end + 1;
+        }
+    }
+
+    private boolean hasRightLang(String path, int start, int end) {
+        var length = end - start;
+        for (String lang : getSiteLangs()) {
+            if (lang.length() == length && path.startsWith(lang, start)) return true;
+        }
+        return (flags(path, start, end) & LANGUAGE) == 0;
+    }
+
+    // segment is ignored word or ignored word + "." + allowed file extension
+    private boolean isIgnoredSegment(String path, int start, int end) {
+        var node = root;
+        for (int i = start; i < end; i++) {
+            var c = Character.toLowerCase(path.charAt(i));
+            if (c == '.' && (node.flags & IGNORED_SEGMENT) != 0
+                    && (flags(path, i + 1, end) & FILE_EXTENSION) != 0) return true;
+            node = node.child(c);
+            if (node == null) return false;
+        }
+        return (node.flags & IGNORED_SEGMENT) != 0;
+    }
+
+    // extension is part of last segment after last dot, trailing dots are not taken into account
+    private boolean isFileExtensionSuitable(String path, int start, int end) {
+        while (end > start && path.charAt(end - 1) == '.') {
+            end--;
+        }
+        var dot = path.lastIndexOf('.', end - 1);
+        if (dot < start) return true;
+        return (flags(path, dot + 1, end) & FILE_EXTENSION) != 0;
+    }
+
+    // subdomains are all labels except top-level and second-level domain and "www"
+    private boolean isHostSuitable(String host) {
+        if (host == null) return true;
+        var length = host.length();
+        while (length > 0 && host.charAt(length - 1) == '.') {
+            length--;
+        }
+        var labels = 1;
+        for (int i = 0; i < length; i++) {
+            if (host.charAt(i) == '.') labels++;
+        }
+        var start = 0;
+        for (int label = 0; label < labels - 2; label++) {
+            var end = host.indexOf('.', start);
+            if (!host.startsWith("www", start) || end - start != 3) {
+                if ((flags(host, start, end) & IGNORED_SUBDOMAIN) != 0) return false;
+            }
+            start = end + 1;
+        }
+        return true;
+    }
+
+    // flags of word that is equal to s[start, end) ignoring case, 0 if there is no such word
+    private int flags(String s, int start, int end) {
+        var node = root;
+        for (int i = start; i < end && node != null; i++) {
+            node = node.child(Character.toLowerCase(s.charAt(i)));
+        }
+        return node != null ? node.flags : 0;
+    }
+
+    private String[] getSiteLangs() {
+        var property = System.getProperty("site.langs");
+        var siteLangs = this.siteLangs;
+        if (siteLangs.property != property) {
+            siteLangs = new SiteLangs(property);
+            this.siteLangs = siteLangs;
+        }
+        return siteLangs.langs;
+    }
+
+    private void addAll(Collection<String> words, int flag) {
+        for (String word : words) {
+            var node = root;
+            for (int i = 0; i < word.length(); i++) {
+                node = node.addChild(word.charAt(i));
+            }
+            node.flags |= flag;
+        }
+    }
+
+    private static class SiteLangs {
+        private final String property;
+        private final String[] langs;
+
+        private SiteLangs(String property) {
+            this.property = property;
+            this.langs = property != null ? property.split(",") : new String[0];
+        }
+    }
+
+    /**
+     * Trie node, children are sorted by char
+     */
+    private static class Node {
+        private char[] chars = new char[0];
+        private Node[] children = new Node[0];
+        private int flags;
+
+        private Node child(char c) {
+            var index = Arrays.binarySearch(chars, c);
+            return index >= 0 ? children[index] : null;
+        }
+
+        private Node addChild(char c) {
+            var index = Arrays.binarySearch(chars, c);
+            if (index >= 0) return children[index];
+            index = -index - 1;
+            var child = new Node();
+            var newChars = new char[chars.length + 1];
+            var newChildren = new Node[children.length + 1];
+            System.arraycopy(chars, 0, newChars, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            newChars[index] = c;
+            newChildren[index] = child;
+            System.arraycopy(chars, index, newChars, index + 1, chars.length - index);
+            System.arraycopy(children, index, newChildren, index + 1, children.length - index);
+            chars = newChars;
+            children = newChildren;
+            return child;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+import static logger.LoggerUtils.debugLog;
+
+/**
+ * Connection that keeps prepared statements, so every query is compiled by SQLite once.
+ * Is not thread safe, must be used by one thread at a time.
+ */
+class CachedConnection implements AutoCloseable {
+    private final Connection connection;
+    private final Map<String, PreparedStatement> statements = new HashMap<>();
+
+    CachedConnection(Connection connection) {
+        this.connection = connection;
+    }
+
+    /**
+     * Returns cached statement for query or prepares new one. Parameters of cached statement must be set again
+     *
+     * @param sql query with parameters
+     * @return prepared statement
+     * @throws SQLException if query cannot be prepared
+     */
+    PreparedStatement prepare(String sql) throws SQLException {
+        var statement = statements.get(sql);
+        if (statement == null) {
+            statement = connection.prepareStatement(sql);
+            statements.put(sql, statement);
+        }
+        return statement;
+    }
+
+    /**
+     * @return connection for statements that are not cached and for transaction control
+     */
+    Connection getConnection() {
+        return connection;
+    }
+
+    @Override
+    public void close() {
+        for (PreparedStatement statement : statements.values()) {
+            try {
+                statement.close();
+            } catch (SQLException e) {
+                debugLog.error("CachedConnection - Failed to close statement:", e);
+            }
+        }
+        statements.clear();
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            debugLog.error("CachedConnection - Failed to close connection:", e);
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package database;
+
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import static logger.LoggerUtils.debugLog;
+
+/**
+ * Class that keeps connections to SQLite database: one connection for writing and pool of connections for reading.
+ * <p>
+ * Writes are serialized through writer connection, reads can go in parallel (database is in WAL journal mode,
+ * so readers do not block writer). Connections are opened when needed and PRAGMAs are applied once for every
+ * connection. Connection that failed is closed and is replaced by new one on next use.
+ */
+class ConnectionManager implements AutoCloseable {
+    private static final String[] PRAGMAS = {
+            "PRAGMA journal_mode=WAL",
+            "PRAGMA synchronous=NORMAL",
+            // negative value is size in KiB
+            "PRAGMA cache_size=-16384",
+            "PRAGMA mmap_size=268435456",
+            "PRAGMA busy_timeout=10000"
+    };
+
+    private final String url;
+    private final int maxReaders;
+    private final Object writeLock = new Object();
+    private final Deque<CachedConnection> idleReaders = new ArrayDeque<>();
+    // generation in which reader was opened, reader from generation before last close is not reused
+    private final Map<CachedConnection, Integer> readerGenerations = new IdentityHashMap<>();
+    private CachedConnection writer;
+    private int readers = 0;
+    private int generation = 0;
+
+    /**
+     * @param url jdbc url of database
+     * @param maxReaders max number of connections for reading
+     */
+    ConnectionManager(String url, int maxReaders) {
+        this.url = url;
+        this.maxReaders = Math.max(1, maxReaders);
+    }
+
+    /**
+     * Runs action with writer connection, only one action at a time. Connection is in auto-commit mode, action
+     * that disables it must restore it
+     *
+     * @param action action with connection
+     * @return result of action
+     * @throws SQLException if action failed
+     */
+    <T> T write(SqlFunction<T> action) throws SQLException {
+        synchronized (writeLock) {
+            try {
+                if (writer == null) {
+                    writer = open();
+                }
+                return action.apply(writer);
+            } catch (SQLException e) {
+                if (writer != null) {
+                    writer.close();
+                    writer = null;
+                }
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Runs action with one of reader connections
+     *
+     * @param action action with connection
+     * @return result of action
+     * @throws SQLException if action failed
+     */
+    <T> T read(SqlFunction<T> action) throws SQLException {
+        var reader = borrowReader();
+        var broken = true;
+        try {
+            var result = action.apply(reader);
+            broken = false;
+            return result;
+        } finally {
+            returnReader(reader, broken);
+        }
+    }
+
+    /**
+     * Takes reader connection, waits if all readers are busy. Connection must be returned with
+     * {@link ConnectionManager#returnReader(CachedConnection, boolean)}
+     *
+     * @return reader connection
+     * @throws SQLException if connection cannot be opened or thread was interrupted
+     */
+    CachedConnection borrowReader() throws SQLException {
+        int readerGeneration;
+        synchronized (idleReaders) {
+            while (idleReaders.isEmpty() && readers >= maxReaders) {
+                try {
+                    idleReaders.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new SQLException("Interrupted while waiting for connection", e);
+                }
+            }
+            var reader = idleReaders.pollFirst();
+            if (reader != null) return reader;
+            readers++;
+            readerGeneration = generation;
+        }
+        try {
+            var reader = open();
+            synchronized (idleReaders) {
+                readerGenerations.put(reader, readerGeneration);
+            }
+            return reader;
+        } catch (SQLException e) {
+            synchronized (idleReaders) {
+                readers--;
+                idleReaders.notifyAll();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Returns reader connection to pool
+     *
+     * @param reader connection from {@link ConnectionManager#borrowReader()}
+     * @param broken true if connection failed and must be closed
+     */
+    void returnReader(CachedConnection reader, boolean broken) {
+        synchronized (idleReaders) {
+            if (broken || readerGenerations.getOrDefault(reader, -1) != generation) {
+                readers--;
+                readerGenerations.remove(reader);
+                reader.close();
+            } else {
+                idleReaders.addFirst(reader);
+            }
+            idleReaders.notifyAll();
+        }
+    }
+
+    /**
+     * Closes all connections. Reader connections that are in use are closed when they are returned, even if
+     * manager is used again before it. Manager can be used after it, connections would be opened again
+     */
+    @Override
+    public void close() {
+        synchronized (writeLock) {
+            if (writer != null) {
+                writer.close();
+                writer = null;
+            }
+        }
+        synchronized (idleReaders) {
+            generation++;
+            for (CachedConnection reader : idleReaders) {
+                readerGenerations.remove(reader);
+                reader.close();
+                readers--;
+            }
+            idleReaders.clear();
+            idleReaders.notifyAll();
+        }
+    }
+
+    private CachedConnection open() throws SQLException {
+        var connection = DriverManager.getConnection(url);
+        try (var statement = connection.createStatement()) {
+            for (String pragma : PRAGMAS) {
+                statement.execute(pragma);
+            }
+        } catch (SQLException e) {
+            try {
+                connection.close();
+            } catch (SQLException closeException) {
+                debugLog.error("ConnectionManager - Failed to close connection:", closeException);
+            }
+            throw e;
+        }
+        return new CachedConnection(connection);
+    }
+
+    /**
+     * Action with connection that can throw {@link SQLException}
+     */
+    interface SqlFunction<T> {
+        T apply(CachedConnection connection) throws SQLException;
+    }
+}
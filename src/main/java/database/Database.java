@@ -5,8 +5,9 @@ import database.models.Word;
 
 import java.util.Collection;
 import java.util.Set;
+import java.util.stream.Stream;
 
-public interface Database {
+public interface Database extends AutoCloseable {
 
     /**
      * Creates a database instance
@@ -52,7 +53,7 @@ public interface Database {
     boolean putWebsites(Collection<Website> websites);
 
     /**
-     * Inserts a word into the database,
+     * Inserts a word into the "words" dictionary and its website into "word_occurrences",
      * if such an entry already exists, then does not insert anything
      *
      * @param word word object containing website id and word to insert
@@ -71,6 +72,17 @@ public interface Database {
      */
     boolean putWords(Collection<Word> words);
 
+    /**
+     * Inserts words into the database and marks domains as completed in the 'crawl_progress' table in one
+     * transaction, domains are marked only if all words were inserted
+     *
+     * @param words collection of words
+     * @param completedDomains hosts of domains which words are inserted
+     * @return true, if the insert was successful,
+     * false, if it was not possible to insert
+     */
+    boolean putWords(Collection<Word> words, Collection<String> completedDomains);
+
     /**
      * Clears all columns of the 'websites' table
      *
@@ -87,6 +99,21 @@ public interface Database {
      */
     boolean clearWords();
 
+    /**
+     * Clears all columns of the 'crawl_progress' table
+     *
+     * @return true, if the cleaning was successful,
+     * false, if it was not possible to clean
+     */
+    boolean clearCrawlProgress();
+
+    /**
+     * Returns hosts of domains which words are already in the database
+     *
+     * @return set of hosts
+     */
+    Set<String> getCompletedDomains();
+
     /**
      * Returns the number of entries in the "websites" table
      *
@@ -103,9 +130,9 @@ public interface Database {
     boolean exportDataToCSV(String filepath);
 
     /**
-     * Returns the number of entries in the "words" table
+     * Returns the number of pairs of word and website in the "word_occurrences" table
      *
-     * @return Words table size
+     * @return number of word occurrences
      */
     int getWordsSize();
 
@@ -117,13 +144,23 @@ public interface Database {
     Set<Website> getWebsites();
 
     /**
-     * Returns a set containing the websites in which such word occurred from the "words" table
+     * Returns a set containing the websites in which such word occurred from the "word_occurrences" table
      *
      * @param word word by which to find websites
      * @return Set of Website objects
      */
     Set<Website> getWebsites(String word);
 
+    /**
+     * Returns the websites in which such word occurred. Rows are read from database while stream is consumed,
+     * so stream must be closed
+     *
+     * @param word word by which to find websites
+     * @return stream of Website objects
+     * @throws DatabaseException if query failed
+     */
+    Stream<Website> getWebsitesStream(String word);
+
     /**
      * Returns a set of site objects containing the link of website and company ID
      *
@@ -141,7 +178,7 @@ public interface Database {
     Set<String> getWebsiteLink(int companyId);
 
     /**
-     * Returns a set containing all found words from "words" table
+     * Returns a set containing all found words with their websites from "word_occurrences" table
      *
      * @return set of Word objects
      */
@@ -155,6 +192,24 @@ public interface Database {
      */
     Set<Word> getWords(int websiteId);
 
+    /**
+     * Returns all found words. Rows are read from database while stream is consumed, so stream must be closed
+     *
+     * @return stream of Word objects
+     * @throws DatabaseException if query failed
+     */
+    Stream<Word> getWordsStream();
+
+    /**
+     * Returns all found words from the specified website. Rows are read from database while stream is consumed,
+     * so stream must be closed
+     *
+     * @param websiteId id of website
+     * @return stream of Word objects
+     * @throws DatabaseException if query failed
+     */
+    Stream<Word> getWordsStream(int websiteId);
+
     /**
      * Returns a word ID from the "words" table
      *
@@ -170,4 +225,11 @@ public interface Database {
      * @return Word object
      */
     Word getWord(int wordId);
+
+    /**
+     * Closes connections that are kept open by database. Database can be used after it, connections
+     * would be opened again
+     */
+    @Override
+    void close();
 }
@@ -0,0 +1,10 @@
+package database;
+
+/**
+ * Thrown when rows of lazily read result cannot be read from database
+ */
+public class DatabaseException extends RuntimeException {
+    public DatabaseException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -1,5 +1,6 @@
 package database;
 
+import config.ConfigurationUtils;
 import database.models.Website;
 import database.models.Word;
 import database.utils.DatabaseUtil;
@@ -8,20 +9,34 @@ import utils.CSVParser;
 import utils.Link;
 import utils.WrongFormedLinkException;
 
-import java.io.BufferedWriter;
-import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.sql.*;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static logger.LoggerUtils.consoleLog;
 import static logger.LoggerUtils.debugLog;
 
 class DatabaseImpl implements Database {
 
-    private String url;
+    private static final int EXPORT_FETCH_SIZE = 1000;
+    // columns are the same as in legacy "words" table: id, website_id, word
+    private static final String WORDS_QUERY = "SELECT w.id, o.website_id, w.word FROM word_occurrences o "
+            + "JOIN words w ON w.id = o.word_id";
+
+    private static final String WEBSITES_QUERY = "SELECT company_id, website FROM websites";
+    private static final String WEBSITES_BY_WORD_QUERY = WEBSITES_QUERY + " WHERE company_id IN "
+            + "(SELECT website_id FROM word_occurrences WHERE word_id = (SELECT id FROM words WHERE word = ?))";
+    private static final int STREAM_FETCH_SIZE = 1000;
+    private static final int DEFAULT_READERS = 4;
+
+    private final ConnectionManager connections;
+    private final WordWriter wordWriter;
 
     /* package-private
 
@@ -30,8 +45,10 @@ class DatabaseImpl implements Database {
         Use IDatabase.newInstance() to create database object
    */
     DatabaseImpl(String databasePath) {
+        var url = System.getProperty("database.url") + databasePath;
+        connections = new ConnectionManager(url, ConfigurationUtils.getIntProperty("database.readers", DEFAULT_READERS));
+        wordWriter = new WordWriter(connections);
         try {
-            url = System.getProperty("database.url") + databasePath;
             initDatabase();
         } catch (ClassNotFoundException e) {
             consoleLog.error("DatabaseImpl - Failed to initialize database: {}", e.toString());
@@ -58,11 +75,14 @@ class DatabaseImpl implements Database {
 
     @Override
     public boolean putWebsites(Collection<Website> websites) {
-        try (Connection connection = getConnection()) {
-            try (PreparedStatement preparedStatement = DatabaseUtil.getWebsitesPreparedStatement(websites, connection)) {
-                preparedStatement.executeUpdate();
-                return true;
-            }
+        try {
+            return connections.write(connection -> {
+                try (PreparedStatement preparedStatement =
+                             DatabaseUtil.getWebsitesPreparedStatement(websites, connection.getConnection())) {
+                    preparedStatement.executeUpdate();
+                    return true;
+                }
+            });
         } catch (Exception e) {
             consoleLog.error("DatabaseImpl - Failed to put websites into database: {}", e.toString());
             debugLog.error("DatabaseImpl - Failed to put websites into database:", e);
@@ -72,20 +92,22 @@ class DatabaseImpl implements Database {
 
     @Override
     public boolean putWord(Word word) {
-        return putWord(word.getWebsiteId(), word.getWord());
+        return putWords(List.of(word));
     }
 
     @Override
     public boolean putWords(Collection<Word> words) {
-        if (words.isEmpty()) {
+        return putWords(words, List.of());
+    }
+
+    @Override
+    public boolean putWords(Collection<Word> words, Collection<String> completedDomains) {
+        if (words.isEmpty() && completedDomains.isEmpty()) {
             return false;
         }
-        try (Connection connection = getConnection()) {
-            try (PreparedStatement preparedStatement = DatabaseUtil.getWordsPreparedStatement(words, connection)) {
-                preparedStatement.executeUpdate();
-
-                return true;
-            }
+        try {
+            wordWriter.write(words, completedDomains);
+            return true;
         } catch (Exception e) {
             consoleLog.error("DatabaseImpl - Failed to put words into database: {}", e.toString());
             debugLog.error("DatabaseImpl - Failed to put words into database:", e);
@@ -106,12 +128,28 @@ class DatabaseImpl implements Database {
 
     @Override
     public boolean clearWords() {
-        String statement = "DELETE FROM words";
-        if (executeStatement(statement)) {
-            String resetIncrement = "DELETE FROM SQLITE_SEQUENCE WHERE NAME='words'";
-            return executeStatement(resetIncrement);
-        } else {
-            return false;
+        return executeStatement("DELETE FROM word_occurrences") && executeStatement("DELETE FROM words");
+    }
+
+    @Override
+    public boolean clearCrawlProgress() {
+        return executeStatement("DELETE FROM crawl_progress");
+    }
+
+    @Override
+    public Set<String> getCompletedDomains() {
+        try {
+            return query("SELECT domain FROM crawl_progress", statement -> {}, rset -> {
+                var domains = new HashSet<String>();
+                while (rset.next()) {
+                    domains.add(rset.getString(1));
+                }
+                return domains;
+            });
+        } catch (Exception e) {
+            consoleLog.error("DatabaseImpl - Failed to get completed domains: {}", e.toString());
+            debugLog.error("DatabaseImpl - Failed to get completed domains:", e);
+            return new HashSet<>();
         }
     }
 
@@ -123,82 +161,88 @@ class DatabaseImpl implements Database {
 
     @Override
     public int getWordsSize() {
-        String query = "SELECT COUNT(*) FROM words";
+        String query = "SELECT COUNT(*) FROM word_occurrences";
         return getSizeFromQuery(query);
     }
 
+    /**
+     * Writes words.csv with "id";"word" rows from "words" table ordered by word and words_websites.csv with
+     * "word_id";"website_id" rows from "word_occurrences" table. Rows are read from cursor and written one by one,
+     * so memory does not depend on number of words.
+     */
     @Override
     public boolean exportDataToCSV(String filepath) {
-        File file = new File(filepath + "words.csv");
-        File pivotTable = new File(filepath + "words_websites.csv");
-        file.delete();
-        pivotTable.delete();
-
-        try (BufferedWriter wordsWriter = new BufferedWriter(new FileWriter(file, true))) {
-            try (BufferedWriter pivotWriter = new BufferedWriter(new FileWriter(pivotTable, true))) {
-                String wordsHeader = "\"id\";\"word\"";
-                wordsWriter.append(wordsHeader);
-                String pivotHeader = "\"word_id\";\"website_id\"";
-                pivotWriter.append(pivotHeader);
-                List<Word> wordsList = getWordsData();
-                Map<Integer, String> words = wordsList.stream()
-                        .sorted(Comparator.comparing(Word::getWord))
-                        .collect(Collectors.toMap(Word::getDatabaseId, Word::getWord));
-                Map<Integer, Integer> wordsPivot = wordsList.stream()
-                        .sorted(Comparator.comparing(Word::getWord))
-                        .collect(Collectors.toMap(Word::getDatabaseId, Word::getWebsiteId));
-                for (Map.Entry<Integer, String> entry : words.entrySet()) {
-                    Integer key = entry.getKey();
-                    String value = entry.getValue();
-                    wordsWriter.append(String.format("\n%d;\"%s\"", key, value));
+        CachedConnection reader = null;
+        var broken = true;
+        try (Writer wordsWriter = Files.newBufferedWriter(Paths.get(filepath + "words.csv"));
+             Writer pivotWriter = Files.newBufferedWriter(Paths.get(filepath + "words_websites.csv"))) {
+            reader = connections.borrowReader();
+            try (Statement statement = reader.getConnection().createStatement()) {
+                statement.setFetchSize(EXPORT_FETCH_SIZE);
+                var digits = new char[11];
+                wordsWriter.write("\"id\";\"word\"");
+                try (ResultSet rset = statement.executeQuery("SELECT id, word FROM words ORDER BY word")) {
+                    while (rset.next()) {
+                        // \n%d;"%s"
+                        wordsWriter.write('\n');
+                        writeInt(wordsWriter, rset.getInt(1), digits);
+                        wordsWriter.write(";\"");
+                        wordsWriter.write(rset.getString(2));
+                        wordsWriter.write('"');
+                    }
                 }
-                for (Map.Entry<Integer, Integer> entry : wordsPivot.entrySet()) {
-                    Integer key = entry.getKey();
-                    Integer value = entry.getValue();
-                    pivotWriter.append(String.format("\n%d;\"%d\"", key, value));
+                pivotWriter.write("\"word_id\";\"website_id\"");
+                try (ResultSet rset = statement.executeQuery("SELECT word_id, website_id FROM word_occurrences")) {
+                    while (rset.next()) {
+                        // \n%d;"%d"
+                        pivotWriter.write('\n');
+                        writeInt(pivotWriter, rset.getInt(1), digits);
+                        pivotWriter.write(";\"");
+                        writeInt(pivotWriter, rset.getInt(2), digits);
+                        pivotWriter.write('"');
+                    }
                 }
-                return true;
             }
+            broken = false;
+            return true;
         } catch (Exception e) {
             consoleLog.error("DatabaseImpl - Failed to export data from database: {}", e.toString());
             debugLog.error("DatabaseImpl - Failed to export data from database:", e);
             return false;
+        } finally {
+            if (reader != null) {
+                connections.returnReader(reader, broken);
+            }
         }
     }
 
     @Override
     public HashSet<Website> getWebsites() {
-        String query = "SELECT * FROM websites";
-        return getWebsitesByQuery(query);
+        return getWebsitesByQuery(WEBSITES_QUERY, statement -> {});
     }
 
     @Override
     public HashSet<Website> getWebsites(String word) {
-        String query = "SELECT * FROM websites WHERE company_id=(SELECT website_id FROM words WHERE word='" + word + "')";
-        return getWebsitesByQuery(query);
+        return getWebsitesByQuery(WEBSITES_BY_WORD_QUERY, statement -> statement.setString(1, word));
     }
 
     @Override
     public HashSet<Website> getWebsites(int companyId) {
-        String query = "SELECT * FROM websites WHERE company_id='" + companyId + "'";
-        return getWebsitesByQuery(query);
+        return getWebsitesByQuery(WEBSITES_QUERY + " WHERE company_id = ?",
+                statement -> statement.setInt(1, companyId));
     }
 
     @Override
     public HashSet<String> getWebsiteLink(int companyId) {
-        String query = "SELECT * FROM websites WHERE company_id='" + companyId + "'";
         HashSet<String> set = new HashSet<>();
-
-        try (Connection connection = getConnection()) {
-            try (Statement statement = connection.createStatement()) {
-                try (ResultSet rset = statement.executeQuery(query)) {
-                    while (rset.next()) {
-                        String link = rset.getString(3);
-                        set.add(link);
-                    }
-                    return set;
+        try {
+            var query = "SELECT website FROM websites WHERE company_id = ?";
+            return query(query, statement -> statement.setInt(1, companyId), rset -> {
+                while (rset.next()) {
+                    set.add(rset.getString(1));
                 }
-            }
+                return set;
+            });
         } catch (Exception e) {
             consoleLog.error("DatabaseImpl - Failed to get website information from database: {}", e.toString());
             debugLog.error("DatabaseImpl - Failed to get website information from database:", e);
@@ -208,30 +252,19 @@ class DatabaseImpl implements Database {
 
     @Override
     public HashSet<Word> getWords() {
-        String query = "SELECT * FROM words";
-        return getWords(query);
+        return getWords(WORDS_QUERY, statement -> {});
     }
 
     @Override
     public HashSet<Word> getWords(int websiteId) {
-        String query = "SELECT * FROM words WHERE website_id = '" + websiteId + "'";
-        return getWords(query);
+        return getWords(WORDS_QUERY + " WHERE o.website_id = ?", statement -> statement.setInt(1, websiteId));
     }
 
     @Override
     public Word getWord(int wordId) {
-        String query = "SELECT * FROM words WHERE id = '" + wordId + "'";
-
-        try (Connection connection = getConnection()) {
-            try (Statement statement = connection.createStatement()) {
-                try (ResultSet rset = statement.executeQuery(query)) {
-                    rset.next();
-                    String wordStr = rset.getString(3);
-                    int websiteId = rset.getInt(2);
-                    int id = rset.getInt(1);
-                    return new Word(id, websiteId, wordStr);
-                }
-            }
+        try {
+            return query(WORDS_QUERY + " WHERE w.id = ? LIMIT 1", statement -> statement.setInt(1, wordId),
+                    rset -> rset.next() ? toWord(rset) : null);
         } catch (Exception e) {
             consoleLog.error("DatabaseImpl - Failed to get words from database: {}", e.toString());
             debugLog.error("DatabaseImpl - Failed to get words from database:", e);
@@ -241,15 +274,9 @@ class DatabaseImpl implements Database {
 
     @Override
     public int getWordId(String word) {
-        String query = "SELECT * FROM words WHERE word = '" + word + "'";
-
-        try (Connection connection = getConnection()) {
-            try (Statement statement = connection.createStatement()) {
-                try (ResultSet rset = statement.executeQuery(query)) {
-                    rset.next();
-                    return rset.getInt(1);
-                }
-            }
+        try {
+            return query("SELECT id FROM words WHERE word = ?", statement -> statement.setString(1, word),
+                    rset -> rset.next() ? rset.getInt(1) : -1);
         } catch (Exception e) {
             consoleLog.error("DatabaseImpl - Failed to get word information from database: {}", e.toString());
             debugLog.error("DatabaseImpl - Failed to get word information from database:", e);
@@ -257,22 +284,91 @@ class DatabaseImpl implements Database {
         }
     }
 
+    @Override
+    public Stream<Website> getWebsitesStream(String word) {
+        return stream(WEBSITES_BY_WORD_QUERY, statement -> statement.setString(1, word), this::toWebsite)
+                .filter(Objects::nonNull);
+    }
+
+    @Override
+    public Stream<Word> getWordsStream() {
+        return stream(WORDS_QUERY, statement -> {}, this::toWord);
+    }
+
+    @Override
+    public Stream<Word> getWordsStream(int websiteId) {
+        return stream(WORDS_QUERY + " WHERE o.website_id = ?", statement -> statement.setInt(1, websiteId),
+                this::toWord);
+    }
+
+    @Override
+    public void close() {
+        connections.close();
+    }
+
     private void initDatabase() throws ClassNotFoundException {
         Class.forName("org.sqlite.JDBC");
 
-        try (Connection connection = getConnection()) {
-
-            Statement statement = connection.createStatement();
-            statement.execute("CREATE TABLE IF NOT EXISTS websites ('id' INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL , 'company_id' int(11) NOT NULL , 'website' TEXT NOT NULL)");
-            statement.execute("CREATE TABLE IF NOT EXISTS words ('id' INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL , 'website_id' int(11) NOT NULL , 'word' TEXT NOT NULL)");
+        try {
+            connections.write(cachedConnection -> {
+                var connection = cachedConnection.getConnection();
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("CREATE TABLE IF NOT EXISTS websites ('id' INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL , 'company_id' int(11) NOT NULL , 'website' TEXT NOT NULL)");
+                    statement.execute("CREATE INDEX IF NOT EXISTS websites_company_id ON websites (company_id)");
+                    if (isLegacyWordsTable(connection)) {
+                        migrateLegacyWords(connection);
+                    }
+                    createWordsTables(statement);
+                    // hosts of domains which words are in database, see Spider
+                    statement.execute("CREATE TABLE IF NOT EXISTS crawl_progress ('domain' TEXT PRIMARY KEY NOT NULL) WITHOUT ROWID");
+                }
+                return null;
+            });
         } catch (Exception e) {
             consoleLog.error("DatabaseImpl - Failed to initialize database: {}", e.toString());
             debugLog.error("DatabaseImpl - Failed to initialize database:", e);
         }
     }
 
-    private Connection getConnection() throws SQLException {
-        return DriverManager.getConnection(url);
+    /*
+        Unique words are stored once in "words" dictionary, "word_occurrences" has pairs of word id and
+        website id (company_id in "websites" table)
+     */
+    private void createWordsTables(Statement statement) throws SQLException {
+        statement.execute("CREATE TABLE IF NOT EXISTS words ('id' INTEGER PRIMARY KEY NOT NULL , 'word' TEXT NOT NULL UNIQUE)");
+        statement.execute("CREATE TABLE IF NOT EXISTS word_occurrences ('word_id' INTEGER NOT NULL , 'website_id' INTEGER NOT NULL , "
+                + "PRIMARY KEY (word_id, website_id)) WITHOUT ROWID");
+        statement.execute("CREATE INDEX IF NOT EXISTS word_occurrences_website_id ON word_occurrences (website_id)");
+    }
+
+    // "words" table of previous versions had row for every word of every website
+    private boolean isLegacyWordsTable(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rset = statement.executeQuery("PRAGMA table_info(words)")) {
+            while (rset.next()) {
+                if (rset.getString("name").equals("website_id")) return true;
+            }
+            return false;
+        }
+    }
+
+    private void migrateLegacyWords(Connection connection) throws SQLException {
+        consoleLog.info("DatabaseImpl - Migrating words to new tables");
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ALTER TABLE words RENAME TO legacy_words");
+            createWordsTables(statement);
+            statement.execute("INSERT OR IGNORE INTO words (word) SELECT word FROM legacy_words ORDER BY word");
+            statement.execute("INSERT OR IGNORE INTO word_occurrences (word_id, website_id) "
+                    + "SELECT w.id, l.website_id FROM legacy_words l JOIN words w ON w.word = l.word");
+            statement.execute("DROP TABLE legacy_words");
+            connection.commit();
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(true);
+        }
     }
 
     private boolean putWebsite(int companyId, String website) {
@@ -280,17 +376,12 @@ class DatabaseImpl implements Database {
         return executeStatementWithParams(companyId, website, statement);
     }
 
-    private boolean putWord(int websiteId, String word) {
-        String statement = "INSERT INTO words (website_id, word) VALUES (?, ?)";
-        return executeStatementWithParams(websiteId, word, statement);
-    }
-
     private boolean executeStatement(String statement) {
-        try (Connection connection = getConnection()) {
-            try (PreparedStatement preparedStatement = connection.prepareStatement(statement)) {
-                preparedStatement.executeUpdate();
+        try {
+            return connections.write(connection -> {
+                connection.prepare(statement).executeUpdate();
                 return true;
-            }
+            });
         } catch (Exception e) {
             consoleLog.error("DatabaseImpl - Failed to execute statement: {}", e.toString());
             debugLog.error("DatabaseImpl - Failed to execute statement:", e);
@@ -299,15 +390,14 @@ class DatabaseImpl implements Database {
     }
 
     private boolean executeStatementWithParams(int subId, String content, String statement) {
-        try (Connection connection = getConnection()) {
-            try (PreparedStatement preparedStatement = connection.prepareStatement(statement)) {
-
+        try {
+            return connections.write(connection -> {
+                PreparedStatement preparedStatement = connection.prepare(statement);
                 preparedStatement.setInt(1, subId);
                 preparedStatement.setString(2, content);
                 preparedStatement.executeUpdate();
-
                 return true;
-            }
+            });
         } catch (Exception e) {
             consoleLog.error("DatabaseImpl - Failed to execute statement: {}", e.toString());
             debugLog.error("DatabaseImpl - Failed to execute statement:", e);
@@ -316,13 +406,11 @@ class DatabaseImpl implements Database {
     }
 
     private int getSizeFromQuery(String query) {
-        try (Connection connection = getConnection()) {
-            try (Statement statement = connection.createStatement()) {
-                try (ResultSet rset = statement.executeQuery(query)) {
-                    rset.next();
-                    return rset.getInt(1);
-                }
-            }
+        try {
+            return query(query, statement -> {}, rset -> {
+                rset.next();
+                return rset.getInt(1);
+            });
         } catch (Exception e) {
             consoleLog.error("DatabaseImpl - Failed to get information from database: {}", e.toString());
             debugLog.error("DatabaseImpl - Failed to get information from database:", e);
@@ -330,21 +418,15 @@ class DatabaseImpl implements Database {
         }
     }
 
-    private HashSet<Word> getWords(String query) {
+    private HashSet<Word> getWords(String query, Parameters parameters) {
         HashSet<Word> set = new HashSet<>();
-        try (Connection connection = getConnection()) {
-            try (Statement statement = connection.createStatement()) {
-                try (ResultSet rset = statement.executeQuery(query)) {
-                    while (rset.next()) {
-                        int id = rset.getInt(1);
-                        int websiteId = rset.getInt(2);
-                        String word = rset.getString(3);
-                        set.add(new Word(id, websiteId, word));
-                    }
-                    return set;
+        try {
+            return query(query, parameters, rset -> {
+                while (rset.next()) {
+                    set.add(toWord(rset));
                 }
-            }
-
+                return set;
+            });
         } catch (Exception e) {
             consoleLog.error("DatabaseImpl - Failed to get words from database: {}", e.toString());
             debugLog.error("DatabaseImpl - Failed to get words from database:", e);
@@ -352,24 +434,18 @@ class DatabaseImpl implements Database {
         }
     }
 
-    private HashSet<Website> getWebsitesByQuery(String query) {
+    private HashSet<Website> getWebsitesByQuery(String query, Parameters parameters) {
         HashSet<Website> set = new HashSet<>();
-        try (Connection connection = getConnection()) {
-            try (Statement statement = connection.createStatement()) {
-                try (ResultSet rset = statement.executeQuery(query)) {
-                    while (rset.next()) {
-                        int companyId = rset.getInt(2);
-                        String website = rset.getString(3);
-                        try {
-                            set.add(new Website(companyId, new Link(website)));
-                        } catch (WrongFormedLinkException e) {
-                            LoggerUtils.consoleLog.error("DatabaseImpl - Not a site {}", website);
-                            LoggerUtils.debugLog.error("DatabaseImpl - Not a site {}", website, e);
-                        }
+        try {
+            return query(query, parameters, rset -> {
+                while (rset.next()) {
+                    var website = toWebsite(rset);
+                    if (website != null) {
+                        set.add(website);
                     }
-                    return set;
                 }
-            }
+                return set;
+            });
         } catch (Exception e) {
             consoleLog.error("DatabaseImpl - Failed to get websites from database: {}", e.toString());
             debugLog.error("DatabaseImpl - Failed to get websites from database:", e);
@@ -377,22 +453,104 @@ class DatabaseImpl implements Database {
         }
     }
 
-    private List<Word> getWordsData() throws SQLException {
-        String query = "SELECT * FROM words";
-        try (Connection connection = getConnection()) {
-            try (Statement statement = connection.createStatement()) {
-                try (ResultSet rset = statement.executeQuery(query)) {
-                    List<Word> wordList = new ArrayList<>();
-                    while (rset.next()) {
-                        int id = rset.getInt(1);
-                        int websiteId = rset.getInt(2);
-                        String word = rset.getString(3);
-                        Word tempWord = new Word(id, websiteId, word);
-                        wordList.add(tempWord);
+    // row of WORDS_QUERY
+    private Word toWord(ResultSet rset) throws SQLException {
+        return new Word(rset.getInt(1), rset.getInt(2), rset.getString(3));
+    }
+
+    // row of WEBSITES_QUERY, returns null if link is not valid
+    private Website toWebsite(ResultSet rset) throws SQLException {
+        int companyId = rset.getInt(1);
+        String website = rset.getString(2);
+        try {
+            return new Website(companyId, new Link(website));
+        } catch (WrongFormedLinkException e) {
+            LoggerUtils.consoleLog.error("DatabaseImpl - Not a site {}", website);
+            LoggerUtils.debugLog.error("DatabaseImpl - Not a site {}", website, e);
+            return null;
+        }
+    }
+
+    // runs query with cached statement of one of reader connections
+    private <T> T query(String query, Parameters parameters, ResultHandler<T> handler) throws SQLException {
+        return connections.read(connection -> {
+            var statement = connection.prepare(query);
+            parameters.set(statement);
+            try (ResultSet rset = statement.executeQuery()) {
+                return handler.handle(rset);
+            }
+        });
+    }
+
+    /*
+        Rows are read when stream is consumed, so reader connection is taken until stream is closed
+     */
+    private <T> Stream<T> stream(String query, Parameters parameters, RowMapper<T> mapper) {
+        CachedConnection reader = null;
+        try {
+            reader = connections.borrowReader();
+            var statement = reader.getConnection().prepareStatement(query);
+            parameters.set(statement);
+            statement.setFetchSize(STREAM_FETCH_SIZE);
+            var rset = statement.executeQuery();
+            var spliterator = new Spliterators.AbstractSpliterator<T>(Long.MAX_VALUE, Spliterator.ORDERED) {
+                @Override
+                public boolean tryAdvance(Consumer<? super T> action) {
+                    try {
+                        if (!rset.next()) return false;
+                        action.accept(mapper.map(rset));
+                        return true;
+                    } catch (SQLException e) {
+                        throw new DatabaseException("Failed to read row of " + query, e);
                     }
-                    return wordList;
                 }
+            };
+            var streamReader = reader;
+            return StreamSupport.stream(spliterator, false).onClose(() -> {
+                var broken = false;
+                try {
+                    statement.close();
+                } catch (SQLException e) {
+                    debugLog.error("DatabaseImpl - Failed to close statement:", e);
+                    broken = true;
+                }
+                connections.returnReader(streamReader, broken);
+            });
+        } catch (SQLException e) {
+            if (reader != null) {
+                connections.returnReader(reader, true);
             }
+            throw new DatabaseException("Failed to execute " + query, e);
+        }
+    }
+
+    // writes decimal representation of number without creating string
+    private static void writeInt(Writer writer, int value, char[] buffer) throws IOException {
+        if (value == Integer.MIN_VALUE) {
+            writer.write(Integer.toString(value));
+            return;
         }
+        if (value < 0) {
+            writer.write('-');
+            value = -value;
+        }
+        var position = buffer.length;
+        do {
+            buffer[--position] = (char) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+        writer.write(buffer, position, buffer.length - position);
+    }
+
+    private interface Parameters {
+        void set(PreparedStatement statement) throws SQLException;
+    }
+
+    private interface ResultHandler<T> {
+        T handle(ResultSet rset) throws SQLException;
+    }
+
+    private interface RowMapper<T> {
+        T map(ResultSet rset) throws SQLException;
     }
-}
\ No newline at end of file
+}
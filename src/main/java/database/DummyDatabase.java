@@ -5,6 +5,7 @@ import database.models.Word;
 
 import java.util.Collection;
 import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Database that does nothing. Returns false instead boolean methods, 0 instead int, null instead Object.
@@ -40,11 +41,26 @@ public class DummyDatabase implements Database {
         return false;
     }
 
+    @Override
+    public boolean putWords(Collection<Word> words, Collection<String> completedDomains) {
+        return false;
+    }
+
     @Override
     public boolean clearWords() {
         return false;
     }
 
+    @Override
+    public boolean clearCrawlProgress() {
+        return false;
+    }
+
+    @Override
+    public Set<String> getCompletedDomains() {
+        return Set.of();
+    }
+
     @Override
     public int getWebsitesSize() {
         return 0;
@@ -99,4 +115,22 @@ public class DummyDatabase implements Database {
     public Word getWord(int wordId) {
         return null;
     }
+
+    @Override
+    public Stream<Website> getWebsitesStream(String word) {
+        return Stream.empty();
+    }
+
+    @Override
+    public Stream<Word> getWordsStream() {
+        return Stream.empty();
+    }
+
+    @Override
+    public Stream<Word> getWordsStream(int websiteId) {
+        return Stream.empty();
+    }
+
+    @Override
+    public void close() {}
 }
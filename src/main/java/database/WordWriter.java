@@ -0,0 +1,95 @@
+package database;
+
+import database.models.Word;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collection;
+
+/**
+ * Class responsible for inserting words into "words" dictionary and "word_occurrences" tables and
+ * marking domains as completed in "crawl_progress" table.
+ * <p>
+ * Uses writer connection of {@link ConnectionManager} with cached prepared statements. Words are sent in
+ * chunks of {@link WordWriter#CHUNK_SIZE} rows with batch, so number of words is not limited by number of sql
+ * parameters, and all chunks are committed in one transaction together with completed domains. So either all
+ * words and domains of a call are in database, or none of them. Words and occurrences that already exist are
+ * ignored.
+ */
+class WordWriter {
+    private static final String INSERT_WORD = "INSERT OR IGNORE INTO words (word) VALUES (?)";
+    private static final String INSERT_OCCURRENCE = "INSERT OR IGNORE INTO word_occurrences (word_id, website_id) "
+            + "SELECT id, ? FROM words WHERE word = ?";
+    private static final String INSERT_PROGRESS = "INSERT OR IGNORE INTO crawl_progress (domain) VALUES (?)";
+    private static final int CHUNK_SIZE = 1000;
+
+    private final ConnectionManager connections;
+
+    /**
+     * @param connections connections of database
+     */
+    WordWriter(ConnectionManager connections) {
+        this.connections = connections;
+    }
+
+    /**
+     * Inserts words and marks domains as completed in one transaction
+     *
+     * @param words words to insert
+     * @param completedDomains domains which are marked as completed
+     * @throws SQLException if words were not inserted, transaction is rolled back
+     */
+    void write(Collection<Word> words, Collection<String> completedDomains) throws SQLException {
+        connections.write(connection -> {
+            insert(connection, words, completedDomains);
+            return null;
+        });
+    }
+
+    private void insert(CachedConnection connection, Collection<Word> words, Collection<String> completedDomains)
+            throws SQLException {
+        var insertWord = connection.prepare(INSERT_WORD);
+        var insertOccurrence = connection.prepare(INSERT_OCCURRENCE);
+        var insertProgress = connection.prepare(INSERT_PROGRESS);
+        var jdbcConnection = connection.getConnection();
+        jdbcConnection.setAutoCommit(false);
+        try {
+            var rows = 0;
+            for (Word word : words) {
+                insertWord.setString(1, word.getWord());
+                insertWord.addBatch();
+                insertOccurrence.setInt(1, word.getWebsiteId());
+                insertOccurrence.setString(2, word.getWord());
+                insertOccurrence.addBatch();
+                if (++rows % CHUNK_SIZE == 0) {
+                    executeChunk(insertWord, insertOccurrence);
+                }
+            }
+            for (String domain : completedDomains) {
+                insertProgress.setString(1, domain);
+                insertProgress.addBatch();
+            }
+            executeChunk(insertWord, insertOccurrence, insertProgress);
+            jdbcConnection.commit();
+            jdbcConnection.setAutoCommit(true);
+        } catch (SQLException e) {
+            // ConnectionManager closes connection after fail, so auto-commit mode is not restored
+            try {
+                insertWord.clearBatch();
+                insertOccurrence.clearBatch();
+                insertProgress.clearBatch();
+                jdbcConnection.rollback();
+            } catch (SQLException rollbackException) {
+                e.addSuppressed(rollbackException);
+            }
+            throw e;
+        }
+    }
+
+    // words must be inserted before occurrences, that find id of word
+    private void executeChunk(PreparedStatement... statements) throws SQLException {
+        for (PreparedStatement statement : statements) {
+            statement.executeBatch();
+        }
+    }
+}
@@ -1,7 +1,6 @@
 package database.utils;
 
 import database.models.Website;
-import database.models.Word;
 
 import java.io.BufferedReader;
 import java.io.FileReader;
@@ -49,24 +48,4 @@ public class DatabaseUtil {
 
         return preparedStatement;
     }
-
-    public static PreparedStatement getWordsPreparedStatement(Collection<Word> words, Connection connection) throws SQLException {
-        StringBuilder statement = new StringBuilder();
-        statement.append("INSERT INTO words (website_id, word) VALUES (?, ?)");
-
-        for (int i = 1; i < words.size(); i++) {
-            statement.append(", (?, ?)");
-        }
-
-        PreparedStatement preparedStatement = connection.prepareStatement(statement.toString());
-
-        int position = 1;
-        for (Word element : words) {
-            preparedStatement.setInt(position, element.getWebsiteId());
-            preparedStatement.setString(position + 1, element.getWord());
-
-            position += 2;
-        }
-        return preparedStatement;
-    }
 }
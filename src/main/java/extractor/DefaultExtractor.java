@@ -1,6 +1,5 @@
 package extractor;
 
-import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import utils.Html;
 
@@ -16,7 +15,7 @@ public class DefaultExtractor implements Extractor {
      * @return all words
      */
     public Collection<String> extract(Html html) {
-        Document doc = Jsoup.parse(html.toString());
+        Document doc = html.getDocument();
         String allInfo = doc.text();
         String[] stringsArray = allInfo.split("\\s");
         return new HashSet<>(Arrays.asList(stringsArray));
@@ -2,17 +2,36 @@ package extractor;
 
 import config.ConfigurationUtils;
 
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
 
 /**
  * Class responsible for word filtration
+ * <p>
+ * Word is trimmed from both sides to letters (a-z, ä, ö, ü, ß in any case), transformed to lower case and is
+ * accepted if it consists only of letters and hyphens and is not in the list of filtered words.
+ * Uses char table instead of regex, so word is checked in one pass.
  */
 public class DefaultWordFilter implements WordFilter {
 
-    private static final Collection<String> filteredWords = getFilterWords();
+    private static final Set<String> filteredWords = getFilterWords();
+    // lower case for chars of [a-zA-ZäöüÄÖÜß\-] in latin-1, 0 for other chars
+    private static final char[] LOWER_CASE = new char[256];
+    // chars of [a-zA-ZäöüÄÖÜß], used for trimming
+    private static final boolean[] LETTERS = new boolean[256];
+
+    static {
+        for (var c : "abcdefghijklmnopqrstuvwxyzäöüß".toCharArray()) {
+            LOWER_CASE[c] = c;
+            LETTERS[c] = true;
+            var upper = Character.toUpperCase(c);
+            LOWER_CASE[upper] = c;
+            LETTERS[upper] = true;
+        }
+        LOWER_CASE['-'] = '-';
+    }
 
     /**
      * Method responsible for filtration.
@@ -22,11 +41,40 @@ public class DefaultWordFilter implements WordFilter {
      */
     @Override
     public Collection<String> filter(Collection<String> words) {
-        return words.stream().map(this::transform).filter(this::check).collect(Collectors.toSet());
+        var result = new HashSet<String>();
+        for (var word : words) {
+            var filtered = filterWord(word, 0, word.length());
+            if (filtered != null) {
+                result.add(filtered);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Filters one word, which is part of text, so word can be taken from text without creating string for it
+     *
+     * @param text text with word
+     * @param start index of first char of word
+     * @param end index after last char of word
+     * @return word in lower case or null if word is filtered
+     */
+    public String filterWord(CharSequence text, int start, int end) {
+        while (start < end && !isLetter(text.charAt(start))) start++;
+        while (end > start && !isLetter(text.charAt(end - 1))) end--;
+        if (start == end) return null;
+        var chars = new char[end - start];
+        for (int i = start; i < end; i++) {
+            var lower = toLowerCase(text.charAt(i));
+            if (lower == 0) return null;
+            chars[i - start] = lower;
+        }
+        var word = new String(chars);
+        return filteredWords.contains(word) ? null : word;
     }
 
-    private static Collection<String> getFilterWords() {
-        List<String> filteredWords = new ArrayList<>();
+    private static Set<String> getFilterWords() {
+        Set<String> filteredWords = new HashSet<>();
         ConfigurationUtils.parseResourceToCollection(
                 "list_of_words_for_filtration/english_words.txt", filteredWords, DefaultWordFilter.class
         );
@@ -39,11 +87,17 @@ public class DefaultWordFilter implements WordFilter {
         return filteredWords;
     }
 
-    private String transform(String str) {
-        return str.replaceAll("^[^a-zA-ZäöüÄÖÜß]*|[^a-zA-ZäöüÄÖÜß]*$", "").toLowerCase();
+    private static boolean isLetter(char c) {
+        return c < LETTERS.length && LETTERS[c];
     }
 
-    private boolean check(String str) {
-        return str.matches("[a-zA-ZäöüÄÖÜß\\-]+") && !filteredWords.contains(str);
+    // returns 0 if char in lower case is not allowed
+    private static char toLowerCase(char c) {
+        if (c < LOWER_CASE.length) return LOWER_CASE[c];
+        // some chars outside of latin-1 have lower case inside of it (like kelvin sign),
+        // chars with special lower case (more than one char) are not allowed
+        var lower = Character.toLowerCase(c);
+        if (lower >= LOWER_CASE.length || String.valueOf(c).toLowerCase(Locale.ROOT).length() != 1) return 0;
+        return LOWER_CASE[lower];
     }
-}
\ No newline at end of file
+}
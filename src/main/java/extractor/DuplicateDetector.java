@@ -0,0 +1,13 @@
+package extractor;
+
+import java.util.Collection;
+
+public interface DuplicateDetector {
+    /**
+     * Checks if page with these words is near-duplicate of any page checked before, otherwise remembers page
+     *
+     * @param words filtered words of page
+     * @return true if page is near-duplicate
+     */
+    boolean isDuplicate(Collection<String> words);
+}
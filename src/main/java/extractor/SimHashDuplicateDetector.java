@@ -0,0 +1,97 @@
+package extractor;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Finds near-duplicate pages of one domain (product variants, pages of listings, print views) by 64-bit SimHash of
+ * page words. Pages are near-duplicates if their SimHashes differ in at most maxDistance bits.
+ * <p>
+ * SimHash is split into maxDistance + 1 bands, so near-duplicate has at least one band equal to band of page it
+ * duplicates, and only pages with the same band are compared. Near-duplicates are not remembered, so pages are
+ * compared with the first page of template. Pages with less than {@link SimHashDuplicateDetector#MIN_WORDS} words
+ * are never near-duplicates, SimHash of few words is not reliable.
+ */
+public class SimHashDuplicateDetector implements DuplicateDetector {
+    private static final int MIN_WORDS = 20;
+    // FNV-1a 64 constants
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final int maxDistance;
+    private final int bandBits;
+    // SimHashes of pages by value of every band
+    private final List<Map<Long, List<Long>>> bands = new ArrayList<>();
+
+    /**
+     * @param maxDistance max number of different bits of near-duplicates SimHashes (0 - 63)
+     */
+    public SimHashDuplicateDetector(int maxDistance) {
+        this.maxDistance = Math.max(0, Math.min(maxDistance, 63));
+        this.bandBits = 64 / (this.maxDistance + 1);
+        for (int i = 0; i <= this.maxDistance; i++) {
+            bands.add(new HashMap<>());
+        }
+    }
+
+    @Override
+    public boolean isDuplicate(Collection<String> words) {
+        if (words.size() < MIN_WORDS) return false;
+        var simHash = simHash(words);
+        synchronized (bands) {
+            for (int i = 0; i < bands.size(); i++) {
+                var candidates = bands.get(i).get(band(simHash, i));
+                if (candidates == null) continue;
+                for (long candidate : candidates) {
+                    if (Long.bitCount(candidate ^ simHash) <= maxDistance) return true;
+                }
+            }
+            for (int i = 0; i < bands.size(); i++) {
+                bands.get(i).computeIfAbsent(band(simHash, i), band -> new ArrayList<>()).add(simHash);
+            }
+        }
+        return false;
+    }
+
+    // last band takes the rest bits
+    private long band(long simHash, int index) {
+        var shifted = simHash >>> (index * bandBits);
+        return index == bands.size() - 1 ? shifted : shifted & ((1L << bandBits) - 1);
+    }
+
+    /*
+        Every bit of SimHash is the majority vote of the same bit of words hashes,
+        so pages with mostly the same words have mostly the same bits
+     */
+    static long simHash(Collection<String> words) {
+        var votes = new int[64];
+        for (String word : words) {
+            var hash = hash(word);
+            for (int bit = 0; bit < 64; bit++) {
+                votes[bit] += (hash >>> bit & 1) != 0 ? 1 : -1;
+            }
+        }
+        var simHash = 0L;
+        for (int bit = 0; bit < 64; bit++) {
+            if (votes[bit] > 0) simHash |= 1L << bit;
+        }
+        return simHash;
+    }
+
+    // FNV-1a with finalizer of MurmurHash3, so similar words have unrelated hashes
+    private static long hash(String word) {
+        var h = FNV_OFFSET_BASIS;
+        for (int i = 0; i < word.length(); i++) {
+            h = (h ^ word.charAt(i)) * FNV_PRIME;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
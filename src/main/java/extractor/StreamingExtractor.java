@@ -0,0 +1,291 @@
+package extractor;
+
+import org.jsoup.nodes.Entities;
+import utils.Html;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Extractor that walks html in one pass and emits words as it goes, without building DOM and without
+ * intermediate string with all text.
+ * <p>
+ * Gives the same words as {@link DefaultExtractor}: text is split by whitespace (non-breaking space included),
+ * block tags and <i>&lt;br&gt;</i> separate words, inline tags do not, content of <i>&lt;script&gt;</i>,
+ * <i>&lt;style&gt;</i> and other raw text elements and comments is skipped, character references are decoded.
+ * Does not recover broken markup like browser does, so results on very broken html may differ a bit.
+ */
+public class StreamingExtractor implements Extractor {
+    // tag names which are treated by jsoup as blocks, copied from org.jsoup.parser.Tag
+    private static final long[] BLOCK_TAGS = encodeAll(
+            "html", "head", "body", "frameset", "script", "noscript", "style", "meta", "link", "title", "frame",
+            "noframes", "section", "nav", "aside", "hgroup", "header", "footer", "p", "h1", "h2", "h3", "h4", "h5",
+            "h6", "ul", "ol", "pre", "div", "blockquote", "hr", "address", "figure", "figcaption", "form",
+            "fieldset", "ins", "del", "dl", "dt", "dd", "li", "table", "caption", "thead", "tfoot", "tbody",
+            "colgroup", "col", "tr", "th", "td", "video", "audio", "canvas", "details", "menu", "plaintext",
+            "template", "article", "main", "svg", "math", "center", "br"
+    );
+    // content is not text and is skipped until closing tag
+    private static final String[] RAW_TEXT_TAGS = {"script", "style", "iframe", "noembed", "noframes", "xmp"};
+    // content is text, but tags inside are not parsed
+    private static final String[] RCDATA_TAGS = {"title", "textarea"};
+    private static final long[] RAW_TEXT_CODES = codesOf(RAW_TEXT_TAGS);
+    private static final long[] RCDATA_CODES = codesOf(RCDATA_TAGS);
+    // longer names do not fit in long and are not interesting anyway
+    private static final int MAX_ENCODED_NAME_LENGTH = 12;
+    private static final int MAX_ENTITY_NAME_LENGTH = 32;
+
+    /**
+     * Returns all words from html
+     *
+     * @param html html
+     * @return all words
+     */
+    @Override
+    public Collection<String> extract(Html html) {
+        return new Tokenizer(html.toString()).tokenize();
+    }
+
+    private static long[] encodeAll(String... names) {
+        var codes = codesOf(names);
+        Arrays.sort(codes);
+        return codes;
+    }
+
+    private static long[] codesOf(String[] names) {
+        var codes = new long[names.length];
+        for (int i = 0; i < names.length; i++) {
+            codes[i] = encode(names[i], 0, names[i].length());
+        }
+        return codes;
+    }
+
+    /**
+     * Packs lowercase tag name into long (base 37: letters and digits), so it can be found without allocation.
+     *
+     * @return code or -1 if name cannot be encoded
+     */
+    private static long encode(CharSequence s, int start, int end) {
+        if (end - start > MAX_ENCODED_NAME_LENGTH || end == start) return -1;
+        long code = 0;
+        for (int i = start; i < end; i++) {
+            var c = s.charAt(i);
+            int value;
+            if (c >= 'a' && c <= 'z') {
+                value = c - 'a' + 1;
+            } else if (c >= 'A' && c <= 'Z') {
+                value = c - 'A' + 1;
+            } else if (c >= '0' && c <= '9') {
+                value = c - '0' + 27;
+            } else {
+                return -1;
+            }
+            code = code * 37 + value;
+        }
+        return code;
+    }
+
+    private static int indexOf(long[] codes, long code) {
+        for (int i = 0; i < codes.length; i++) {
+            if (codes[i] == code) return i;
+        }
+        return -1;
+    }
+
+    private static boolean isLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isNameChar(char c) {
+        return isLetter(c) || (c >= '0' && c <= '9') || c == '-' || c == ':' || c == '_';
+    }
+
+    // whitespace of jsoup normalization and of "\\s" regex
+    private static boolean isSeparator(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == '\f' || c == '\u000B' || c == '\u00A0';
+    }
+
+    /**
+     * State of one pass over html
+     */
+    private static class Tokenizer {
+        private final String html;
+        private final int length;
+        private final StringBuilder word = new StringBuilder();
+        private final Set<String> words = new HashSet<>();
+
+        Tokenizer(String html) {
+            this.html = html;
+            this.length = html.length();
+        }
+
+        Set<String> tokenize() {
+            var i = 0;
+            while (i < length) {
+                var c = html.charAt(i);
+                if (c == '<') {
+                    i = handleMarkup(i);
+                } else if (c == '&') {
+                    i = handleCharacterReference(i);
+                } else {
+                    append(c);
+                    i++;
+                }
+            }
+            emit();
+            return words;
+        }
+
+        private void append(char c) {
+            if (isSeparator(c)) {
+                emit();
+            } else {
+                word.append(c);
+            }
+        }
+
+        private void emit() {
+            if (word.length() != 0) {
+                words.add(word.toString());
+                word.setLength(0);
+            }
+        }
+
+        // returns index after markup
+        private int handleMarkup(int start) {
+            var next = start + 1 < length ? html.charAt(start + 1) : 0;
+            if (next == '!') {
+                if (html.startsWith("<!--", start)) {
+                    var end = html.indexOf("-->", start + 4);
+                    return end == -1 ? length : end + 3;
+                }
+                return skipTag(start + 2);
+            } else if (next == '?') {
+                return skipTag(start + 2);
+            }
+            var closing = next == '/';
+            var nameStart = closing ? start + 2 : start + 1;
+            if (nameStart >= length || !isLetter(html.charAt(nameStart))) {
+                append('<');
+                return start + 1;
+            }
+            var nameEnd = nameStart;
+            while (nameEnd < length && isNameChar(html.charAt(nameEnd))) {
+                nameEnd++;
+            }
+            var code = encode(html, nameStart, nameEnd);
+            var afterTag = skipTag(nameEnd);
+            // like jsoup: closed block separates words only from text right after it, not from next element
+            if (code != -1 && Arrays.binarySearch(BLOCK_TAGS, code) >= 0
+                    && (!closing || afterTag >= length || html.charAt(afterTag) != '<')) {
+                emit();
+            }
+            if (closing || code == -1) return afterTag;
+            var rawText = indexOf(RAW_TEXT_CODES, code);
+            if (rawText != -1) {
+                var closingTag = findClosingTag(afterTag, RAW_TEXT_TAGS[rawText]);
+                return closingTag == length ? length : skipTag(closingTag);
+            }
+            var rcdata = indexOf(RCDATA_CODES, code);
+            if (rcdata != -1) {
+                var closingTag = findClosingTag(afterTag, RCDATA_TAGS[rcdata]);
+                handleText(afterTag, closingTag);
+                return closingTag;
+            }
+            return afterTag;
+        }
+
+        // text without tags, only character references are decoded
+        private void handleText(int start, int end) {
+            var i = start;
+            while (i < end) {
+                var c = html.charAt(i);
+                if (c == '&') {
+                    i = handleCharacterReference(i);
+                } else {
+                    append(c);
+                    i++;
+                }
+            }
+        }
+
+        // returns index after closing '>' of tag, quoted attribute values may contain '>'
+        private int skipTag(int from) {
+            char quote = 0;
+            for (int i = from; i < length; i++) {
+                var c = html.charAt(i);
+                if (quote != 0) {
+                    if (c == quote) quote = 0;
+                } else if (c == '"' || c == '\'') {
+                    if (html.charAt(i - 1) == '=' || isSeparator(html.charAt(i - 1))) quote = c;
+                } else if (c == '>') {
+                    return i + 1;
+                }
+            }
+            return length;
+        }
+
+        // returns index of "</name" or length if there is no closing tag
+        private int findClosingTag(int from, String name) {
+            var i = from;
+            while ((i = html.indexOf("</", i)) != -1) {
+                if (html.regionMatches(true, i + 2, name, 0, name.length())) {
+                    var after = i + 2 + name.length();
+                    if (after >= length || !isNameChar(html.charAt(after))) return i;
+                }
+                i += 2;
+            }
+            return length;
+        }
+
+        // returns index after character reference, ampersand that does not start reference is a text
+        private int handleCharacterReference(int start) {
+            var i = start + 1;
+            if (i < length && html.charAt(i) == '#') {
+                return handleNumericReference(start);
+            }
+            while (i < length && i - start <= MAX_ENTITY_NAME_LENGTH && Character.isLetterOrDigit(html.charAt(i))) {
+                i++;
+            }
+            if (i < length && i > start + 1 && html.charAt(i) == ';') {
+                var name = html.substring(start + 1, i);
+                if (Entities.isNamedEntity(name)) {
+                    var value = Entities.getByName(name);
+                    for (int j = 0; j < value.length(); j++) {
+                        append(value.charAt(j));
+                    }
+                    return i + 1;
+                }
+            }
+            append('&');
+            return start + 1;
+        }
+
+        private int handleNumericReference(int start) {
+            var i = start + 2;
+            var hex = i < length && (html.charAt(i) == 'x' || html.charAt(i) == 'X');
+            if (hex) i++;
+            var digitsStart = i;
+            var codePoint = 0;
+            while (i < length && Character.digit(html.charAt(i), hex ? 16 : 10) != -1 && i - digitsStart < 8) {
+                codePoint = codePoint * (hex ? 16 : 10) + Character.digit(html.charAt(i), hex ? 16 : 10);
+                i++;
+            }
+            if (i == digitsStart) {
+                append('&');
+                return start + 1;
+            }
+            if (i < length && html.charAt(i) == ';') i++;
+            if (codePoint == 0 || !Character.isValidCodePoint(codePoint)) {
+                append('\uFFFD');
+            } else if (Character.isBmpCodePoint(codePoint)) {
+                append((char) codePoint);
+            } else {
+                word.appendCodePoint(codePoint);
+            }
+            return i;
+        }
+    }
+}
@@ -30,9 +30,11 @@ public class Main {
                              String databasePath, OnSpiderChangesListener listener) {
         ConfigurationUtils.configure();
         LoggerUtils.debugLog.info("Main - START");
-        var spider = new Spider(new DefaultContextFactory(), Database.newInstance(databasePath));
-        spider.setListener(listener);
-        spider.scrapeFromCSVFile(inputPath, outputPath);
+        try (var database = Database.newInstance(databasePath)) {
+            var spider = new Spider(new DefaultContextFactory(), database);
+            spider.setListener(listener);
+            spider.scrapeFromCSVFile(inputPath, outputPath);
+        }
         LoggerUtils.debugLog.info("Main - {} pages were scraped in total", LoggerUtils.getPagesScraped());
         LoggerUtils.consoleLog.info("Main - {} pages were scraped in total", LoggerUtils.getPagesScraped());
     }
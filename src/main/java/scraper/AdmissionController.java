@@ -0,0 +1,103 @@
+package scraper;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static logger.LoggerUtils.debugLog;
+
+/**
+ * Class that decides when request can be sent to Splash.
+ * <p>
+ * Keeps two limits: global number of requests in flight (for all domains) and number of requests in flight
+ * for one domain, so one huge site cannot take all Splash slots. Request waits until both limits allow it.
+ * <p>
+ * Global limit is adaptive ({@link AimdLimit}): it shrinks when Splash shows signs of overload (502, 503, 504,
+ * dropped connections), that usually lead to Splash restart because of memory limit, and grows back on
+ * successful responses.
+ */
+public class AdmissionController {
+    private final int maxRequests;
+    private final int maxRequestsPerDomain;
+    private final AimdLimit limit;
+    private final Map<String, Integer> domainRequests = new HashMap<>();
+    private int requests = 0;
+
+    /**
+     * @param minRequests global number of requests in flight that is allowed even under overload
+     * @param maxRequests global number of requests in flight
+     * @param maxRequestsPerDomain number of requests in flight for one domain
+     * @param overloadCooldown time after limit decrease in which overload signs are ignored (in millis)
+     */
+    public AdmissionController(int minRequests, int maxRequests, int maxRequestsPerDomain, long overloadCooldown) {
+        this.maxRequests = Math.max(1, maxRequests);
+        this.maxRequestsPerDomain = Math.max(1, maxRequestsPerDomain);
+        this.limit = new AimdLimit(minRequests, this.maxRequests, overloadCooldown);
+    }
+
+    /**
+     * Waits until request to domain can be sent and takes place for it
+     *
+     * @param domain domain of requested page
+     * @throws InterruptedException if thread was interrupted while waiting, place is not taken
+     */
+    public synchronized void acquire(String domain) throws InterruptedException {
+        while (requests >= limit.getLimit() || domainRequests.getOrDefault(domain, 0) >= maxRequestsPerDomain) {
+            wait();
+        }
+        requests++;
+        domainRequests.merge(domain, 1, Integer::sum);
+    }
+
+    /**
+     * Frees place taken by {@link AdmissionController#acquire(String)}, must be called exactly once for every
+     * acquired place
+     *
+     * @param domain domain of requested page
+     */
+    public synchronized void release(String domain) {
+        requests--;
+        domainRequests.computeIfPresent(domain, (key, count) -> count == 1 ? null : count - 1);
+        notifyAll();
+    }
+
+    /**
+     * Informs that Splash successfully answered, may increase global limit
+     */
+    public synchronized void onSuccess() {
+        if (limit.onSuccess()) {
+            notifyAll();
+        }
+    }
+
+    /**
+     * Informs that Splash is overloaded, may decrease global limit
+     */
+    public synchronized void onOverload() {
+        if (limit.onOverload()) {
+            debugLog.info("AdmissionController - Splash is overloaded, limit of requests decreased to {}",
+                    limit.getLimit());
+        }
+    }
+
+    /**
+     * @return current global limit of requests in flight
+     */
+    public synchronized int getLimit() {
+        return limit.getLimit();
+    }
+
+    /**
+     * @return number of requests in flight
+     */
+    public synchronized int getRequests() {
+        return requests;
+    }
+
+    public int getMaxRequests() {
+        return maxRequests;
+    }
+
+    public int getMaxRequestsPerDomain() {
+        return maxRequestsPerDomain;
+    }
+}
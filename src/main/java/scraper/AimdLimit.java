@@ -0,0 +1,59 @@
+package scraper;
+
+/**
+ * Limit of requests in flight that adapts to Splash load like TCP congestion window
+ * (additive increase, multiplicative decrease).
+ * <p>
+ * Every successful response increases limit by {@code 1 / limit}, so limit grows by one after a whole window of
+ * successes. Sign of overload cuts limit by {@link AimdLimit#BACKOFF_RATIO}. Signs that come during
+ * {@link AimdLimit#cooldown} after decrease are caused by the same overload and are ignored.
+ * <p>
+ * Class is not thread safe, synchronization is up to the owner.
+ */
+class AimdLimit {
+    private static final double BACKOFF_RATIO = 0.5;
+
+    private final int minLimit;
+    private final int maxLimit;
+    // in millis
+    private final long cooldown;
+    private double limit;
+    private long lastDecreaseTime = 0;
+
+    /**
+     * @param minLimit limit never goes lower
+     * @param maxLimit limit never goes higher, initial limit
+     * @param cooldown time after decrease in which overload signs are ignored (in millis)
+     */
+    AimdLimit(int minLimit, int maxLimit, long cooldown) {
+        this.maxLimit = Math.max(1, maxLimit);
+        this.minLimit = Math.max(1, Math.min(minLimit, this.maxLimit));
+        this.cooldown = cooldown;
+        this.limit = this.maxLimit;
+    }
+
+    /**
+     * @return {@code true} if limit was increased
+     */
+    boolean onSuccess() {
+        var previous = getLimit();
+        limit = Math.min(maxLimit, limit + 1 / limit);
+        return getLimit() != previous;
+    }
+
+    /**
+     * @return {@code true} if limit was decreased
+     */
+    boolean onOverload() {
+        var now = System.currentTimeMillis();
+        if (now - lastDecreaseTime < cooldown) return false;
+        lastDecreaseTime = now;
+        var previous = getLimit();
+        limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+        return getLimit() != previous;
+    }
+
+    int getLimit() {
+        return (int) limit;
+    }
+}
@@ -0,0 +1,35 @@
+package scraper;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Exponential backoff with decorrelated jitter: every delay is random value between base delay and tripled previous
+ * delay or max delay, whichever is less.
+ * <p>
+ * Randomness spreads retries of requests that failed at the same moment (e.g. when Splash restarts),
+ * so they do not come back in lockstep and do not knock Splash over again.
+ */
+public class DecorrelatedJitterRetryPolicy implements RetryPolicy {
+    private final long baseDelay;
+    private final long maxDelay;
+    private final int maxRetries;
+
+    /**
+     * @param baseDelay minimal delay (in millis)
+     * @param maxDelay maximal delay (in millis)
+     * @param maxRetries number of retries after which request is not retried
+     */
+    public DecorrelatedJitterRetryPolicy(long baseDelay, long maxDelay, int maxRetries) {
+        this.baseDelay = baseDelay;
+        this.maxDelay = Math.max(baseDelay, maxDelay);
+        this.maxRetries = maxRetries;
+    }
+
+    @Override
+    public long getDelay(int retryCount, long previousDelay) {
+        if (retryCount >= maxRetries) return -1;
+        // max delay bounds the range instead of cutting the result, so delays near max are not all equal
+        var upperBound = Math.min(maxDelay, Math.max(baseDelay, previousDelay) * 3);
+        return ThreadLocalRandom.current().nextLong(baseDelay, upperBound + 1);
+    }
+}
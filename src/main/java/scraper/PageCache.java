@@ -0,0 +1,274 @@
+package scraper;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import config.ConfigurationUtils;
+import splash.SplashResponse;
+import utils.Link;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static logger.LoggerUtils.debugLog;
+
+/**
+ * On-disk cache of Splash responses, so pages that were rendered by previous runs are not rendered again.
+ * <p>
+ * Every response is stored in its own file as gzipped JSON, file name is sha-256 of normalized link (without
+ * scheme, "www." and fragment). Entries older than scraper.cache.ttl.hours property are returned as expired, they
+ * can be used only if page is not modified since it was rendered (see {@link PageRevalidator}). When cache
+ * becomes bigger than scraper.cache.max.size.mb property least recently used entries are deleted. Last modified
+ * time of file is time of last use, so order of entries is kept between runs.
+ * <p>
+ * scraper.cache.mode property: "use" - read and write cache, "refresh" - render all pages again and replace
+ * cached ones, "bypass" - do not touch cache at all.
+ */
+public class PageCache {
+    private static final String EXTENSION = ".json.gz";
+    private static final Gson gson = new Gson();
+
+    private final Path directory;
+    private final Mode mode;
+    private final long maxSize;
+    // in millis
+    private final long ttl;
+    // file names in access order with sizes of files
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long size = 0;
+
+    /**
+     * @param directory directory with cached pages, is created if absent
+     * @param mode what cache is used for
+     * @param maxSize max size of all entries in bytes
+     * @param ttl time after which entry is expired, in millis
+     */
+    public PageCache(Path directory, Mode mode, long maxSize, long ttl) {
+        this.directory = directory;
+        this.maxSize = maxSize;
+        this.ttl = ttl;
+        this.mode = mode == Mode.BYPASS ? mode : loadEntries(mode);
+    }
+
+    /**
+     * Creates cache configured by scraper.cache.* properties
+     *
+     * @return page cache
+     */
+    public static PageCache fromProperties() {
+        var modeName = System.getProperty("scraper.cache.mode", "bypass").trim().toUpperCase(Locale.ROOT);
+        Mode mode;
+        try {
+            mode = Mode.valueOf(modeName);
+        } catch (IllegalArgumentException e) {
+            debugLog.error("PageCache - Unknown mode {}, cache is bypassed", modeName);
+            mode = Mode.BYPASS;
+        }
+        return new PageCache(
+                Paths.get(System.getProperty("scraper.cache.directory", "cache/pages")),
+                mode,
+                ConfigurationUtils.getIntProperty("scraper.cache.max.size.mb", 1024) * 1024L * 1024L,
+                TimeUnit.HOURS.toMillis(ConfigurationUtils.getIntProperty("scraper.cache.ttl.hours", 168))
+        );
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * Returns cached entry of page if cache is in "use" mode
+     *
+     * @param link requested link of page
+     * @return cached entry, maybe expired, or {@code null}
+     */
+    public Entry get(Link link) {
+        if (mode != Mode.USE) return null;
+        var name = getFileName(link);
+        synchronized (entries) {
+            // moves entry to the end of access order
+            if (entries.get(name) == null) return null;
+        }
+        var file = directory.resolve(name);
+        try {
+            var entry = read(file);
+            entry.expired = entry.created + ttl < System.currentTimeMillis();
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            return entry;
+        } catch (IOException | JsonParseException e) {
+            debugLog.warn("PageCache - Failed to read entry of {}, it is removed", link, e);
+            remove(name);
+            return null;
+        }
+    }
+
+    /**
+     * Saves response of page, does nothing in "bypass" mode. Saved entry is not expired until ttl passes again
+     *
+     * @param link requested link of page
+     * @param response response of Splash
+     */
+    public void put(Link link, SplashResponse response) {
+        if (mode == Mode.BYPASS) return;
+        var name = getFileName(link);
+        var file = directory.resolve(name);
+        try {
+            // written to temporary file first, so other threads never read half written entry
+            var tmp = Files.createTempFile(directory, name, ".tmp");
+            try {
+                write(tmp, new Entry(System.currentTimeMillis(), response));
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+            add(name, Files.size(file));
+        } catch (IOException e) {
+            debugLog.warn("PageCache - Failed to save entry of {}", link, e);
+        }
+    }
+
+    private Mode loadEntries(Mode mode) {
+        try {
+            Files.createDirectories(directory);
+            var files = new ArrayList<Path>();
+            try (Stream<Path> list = Files.list(directory)) {
+                list.forEach(files::add);
+            }
+            var lastModified = new HashMap<Path, Long>();
+            for (Path file : files) {
+                lastModified.put(file, Files.getLastModifiedTime(file).toMillis());
+            }
+            files.sort(Comparator.comparing(lastModified::get));
+            for (Path file : files) {
+                var name = file.getFileName().toString();
+                if (name.endsWith(EXTENSION)) {
+                    add(name, Files.size(file));
+                } else {
+                    // temporary file of run that was killed
+                    Files.deleteIfExists(file);
+                }
+            }
+            debugLog.info("PageCache - {} entries, {} bytes in {}", entries.size(), size, directory);
+            return mode;
+        } catch (IOException e) {
+            debugLog.error("PageCache - Failed to load cache from {}, cache is bypassed", directory, e);
+            return Mode.BYPASS;
+        }
+    }
+
+    private void add(String name, long fileSize) {
+        synchronized (entries) {
+            var previous = entries.put(name, fileSize);
+            size += fileSize - (previous == null ? 0 : previous);
+            var iterator = entries.entrySet().iterator();
+            // the newest entry is kept even if it is bigger than cache
+            while (size > maxSize && entries.size() > 1) {
+                var eldest = iterator.next();
+                iterator.remove();
+                size -= eldest.getValue();
+                deleteFile(eldest.getKey());
+            }
+        }
+    }
+
+    private void remove(String name) {
+        synchronized (entries) {
+            var fileSize = entries.remove(name);
+            if (fileSize != null) {
+                size -= fileSize;
+            }
+            deleteFile(name);
+        }
+    }
+
+    private void deleteFile(String name) {
+        try {
+            Files.deleteIfExists(directory.resolve(name));
+        } catch (IOException e) {
+            debugLog.warn("PageCache - Failed to delete {}", name, e);
+        }
+    }
+
+    private static Entry read(Path file) throws IOException {
+        try (Reader reader = new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8)) {
+            var entry = gson.fromJson(reader, Entry.class);
+            if (entry == null || entry.response == null) {
+                throw new JsonParseException("Entry is empty");
+            }
+            return entry;
+        }
+    }
+
+    private static void write(Path file, Entry entry) throws IOException {
+        try (Writer writer = new OutputStreamWriter(
+                new GZIPOutputStream(Files.newOutputStream(file)), StandardCharsets.UTF_8)) {
+            gson.toJson(entry, writer);
+        }
+    }
+
+    // http and https, "www." and fragment do not change page
+    private static String getFileName(Link link) {
+        var key = new StringBuilder(link.fixWWW().getHost());
+        var port = link.getPort();
+        if (port != -1) {
+            key.append(':').append(port);
+        }
+        key.append(link.getPath());
+        var query = link.getQuery();
+        if (query != null) {
+            key.append('?').append(query);
+        }
+        return sha256(key.toString()) + EXTENSION;
+    }
+
+    private static String sha256(String s) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256").digest(s.getBytes(StandardCharsets.UTF_8));
+            var hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            // every java platform supports SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public enum Mode {
+        USE, REFRESH, BYPASS
+    }
+
+    /**
+     * Cached response with time when it was saved
+     */
+    public static class Entry {
+        // in millis
+        private final long created;
+        private final SplashResponse response;
+        // is set when entry is read, is not saved
+        private transient boolean expired;
+
+        Entry(long created, SplashResponse response) {
+            this.created = created;
+            this.response = response;
+        }
+
+        public SplashResponse getResponse() {
+            return response;
+        }
+
+        public boolean isExpired() {
+            return expired;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package scraper;
+
+import okhttp3.Call;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import splash.SplashResponse;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+import static logger.LoggerUtils.debugLog;
+
+/**
+ * Class that checks if page was modified since it was rendered, without Splash.
+ * <p>
+ * Sends HEAD request straight to site with If-None-Match and If-Modified-Since headers made from ETag and
+ * Last-Modified headers that Splash returned with page. Page is not modified if site answers HTTP 304 or answers
+ * HTTP 200 with the same validator (some servers ignore conditional headers of HEAD request). Page without
+ * validators, redirect and any error mean that page has to be rendered again.
+ */
+class PageRevalidator {
+    // in seconds
+    private static final int TIMEOUT = 5;
+
+    private final OkHttpClient httpClient = new OkHttpClient.Builder()
+            .connectTimeout(TIMEOUT, TimeUnit.SECONDS)
+            .readTimeout(TIMEOUT, TimeUnit.SECONDS)
+            .callTimeout(TIMEOUT, TimeUnit.SECONDS)
+            .followRedirects(false)
+            .build();
+
+    /**
+     * Creates conditional HEAD request for page, call is not sent, so it can be enqueued
+     *
+     * @param cached response that was rendered before
+     * @return call or {@code null} if page has no validators and has to be rendered again
+     */
+    Call newCall(SplashResponse cached) {
+        var etag = cached.getEtag();
+        var lastModified = cached.getLastModified();
+        if (etag == null && lastModified == null) return null;
+        try {
+            var builder = new Request.Builder().url(cached.getUrl()).head();
+            if (etag != null) {
+                builder.header("If-None-Match", etag);
+            }
+            if (lastModified != null) {
+                builder.header("If-Modified-Since", lastModified);
+            }
+            return httpClient.newCall(builder.build());
+        } catch (IllegalArgumentException e) {
+            debugLog.debug("PageRevalidator - Failed to revalidate {} {}", cached.getUrl(), e.toString());
+            return null;
+        }
+    }
+
+    /**
+     * @param cached response that was rendered before
+     * @param response answer of site to call from {@link PageRevalidator#newCall(SplashResponse)}
+     * @return true if page was not modified, so cached response can be used
+     */
+    boolean isNotModified(SplashResponse cached, Response response) {
+        var code = response.code();
+        if (code == 304) return true;
+        if (code != 200) return false;
+        var etag = cached.getEtag();
+        return etag != null ? etag.equals(response.header("ETag"))
+                : Objects.equals(cached.getLastModified(), response.header("Last-Modified"));
+    }
+
+    void shutdown() {
+        httpClient.dispatcher().executorService().shutdown();
+        httpClient.connectionPool().evictAll();
+    }
+}
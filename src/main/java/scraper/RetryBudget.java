@@ -0,0 +1,47 @@
+package scraper;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Limits number of retries to percentage of successful requests, so retries cannot multiply load
+ * when Splash is in trouble.
+ * <p>
+ * Some retries are allowed before any request succeeded, otherwise nothing could be retried at the start.
+ * Budget is counted for the whole run.
+ */
+public class RetryBudget {
+    private final AtomicInteger successes = new AtomicInteger(0);
+    private final AtomicInteger retries = new AtomicInteger(0);
+    private final int minRetries;
+    private final int percent;
+
+    /**
+     * @param minRetries number of retries that are allowed regardless of successful requests
+     * @param percent percentage of successful requests that can be retried
+     */
+    public RetryBudget(int minRetries, int percent) {
+        this.minRetries = minRetries;
+        this.percent = percent;
+    }
+
+    public void onSuccess() {
+        successes.incrementAndGet();
+    }
+
+    /**
+     * Takes one retry from budget
+     *
+     * @return {@code true} if retry is allowed, {@code false} if budget is exhausted
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            var current = retries.get();
+            if (current >= minRetries + (long) successes.get() * percent / 100) {
+                return false;
+            }
+            if (retries.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package scraper;
+
+/**
+ * Inform that page was not retried because retries of the run are limited by {@link RetryBudget}.
+ * <p>
+ * It is not a problem of the site, so domain that failed with it is not counted as failed
+ */
+public class RetryBudgetExhaustedException extends RuntimeException {
+    public RetryBudgetExhaustedException() {
+        super("Retry budget is exhausted");
+    }
+}
@@ -0,0 +1,17 @@
+package scraper;
+
+/**
+ * Policy that decides if failed request should be retried and how long to wait before retry
+ */
+public interface RetryPolicy {
+    /**
+     * Gives delay for next retry.
+     * <p>
+     * Returns -1 if request should not be retried
+     *
+     * @param retryCount number of retries that were already made
+     * @param previousDelay delay before previous retry (in millis), 0 if request was not retried yet
+     * @return delay (in millis)
+     */
+    long getDelay(int retryCount, long previousDelay);
+}
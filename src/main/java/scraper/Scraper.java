@@ -27,10 +27,29 @@ public interface Scraper {
      * @param link web page to be scraped
      * @param consumer consumer of html and additional information
      */
-    void scrape(Link link, Consumer<Page> consumer);
+    default void scrape(Link link, Consumer<Page> consumer) {
+        scrape(link, consumer, () -> {});
+    }
+
+    /**
+     * Follows link, extracts html and gives it to consumer with all required info.
+     * <p>
+     * Calls onFinished exactly once, when page is not processed anymore: consumer returned, page failed,
+     * was rejected or canceled.
+     *
+     * @param link web page to be scraped
+     * @param consumer consumer of html and additional information
+     * @param onFinished called when page is finished, after consumer
+     */
+    void scrape(Link link, Consumer<Page> consumer, Runnable onFinished);
 
     /**
      * @return number of pages which are being processed
      */
     int scrapingPagesCount();
+
+    /**
+     * @return statistic of scraper, page processing adds to it too
+     */
+    Statistic getStatistic();
 }
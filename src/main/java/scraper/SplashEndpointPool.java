@@ -0,0 +1,178 @@
+package scraper;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import utils.Link;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static logger.LoggerUtils.consoleLog;
+import static logger.LoggerUtils.debugLog;
+
+/**
+ * Class that balances requests between Splash instances on client side.
+ * <p>
+ * Request goes to healthy endpoint with the least number of outstanding requests. Endpoint that fails
+ * {@link SplashEndpointPool#EJECT_FAILS} times in a row (HTTP 502, 503, broken connection) is ejected, background
+ * health check pings /_ping of every endpoint and returns ejected endpoint when it answers again. Healthy endpoint
+ * that does not answer ping is ejected too. If all endpoints are ejected, requests go to all of them.
+ */
+class SplashEndpointPool {
+    private static final int EJECT_FAILS = 3;
+    // in seconds
+    private static final int PING_INTERVAL = 5;
+    private static final int PING_TIMEOUT = 3;
+
+    private final List<Endpoint> endpoints;
+    private final AtomicInteger nextEndpoint = new AtomicInteger(0);
+    private final ScheduledExecutorService healthCheckExecutor = Executors.newSingleThreadScheduledExecutor();
+    private final OkHttpClient pingClient = new OkHttpClient.Builder()
+            .connectTimeout(PING_TIMEOUT, TimeUnit.SECONDS)
+            .readTimeout(PING_TIMEOUT, TimeUnit.SECONDS)
+            .callTimeout(PING_TIMEOUT, TimeUnit.SECONDS)
+            .build();
+
+    /**
+     * @param urls urls of Splash instances
+     */
+    SplashEndpointPool(List<Link> urls) {
+        var endpoints = new ArrayList<Endpoint>();
+        for (Link url : urls) {
+            endpoints.add(new Endpoint(url));
+        }
+        this.endpoints = Collections.unmodifiableList(endpoints);
+        if (endpoints.size() > 1) {
+            healthCheckExecutor.scheduleWithFixedDelay(this::checkHealth, PING_INTERVAL, PING_INTERVAL, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Creates pool of endpoints from splash.endpoints property (comma separated host:port list), if it is absent
+     * uses haproxy or localhost like {@link splash.DefaultSplashRequestContext}
+     *
+     * @return endpoint pool
+     */
+    static SplashEndpointPool fromProperties() {
+        var urls = new ArrayList<Link>();
+        var property = System.getProperty("splash.endpoints", "");
+        for (String endpoint : property.split(",")) {
+            if (!endpoint.isBlank()) {
+                urls.add(new Link(endpoint.trim()));
+            }
+        }
+        if (urls.isEmpty()) {
+            urls.add(Boolean.parseBoolean(System.getProperty("inside.container"))
+                    ? new Link("haproxy:8050") : new Link("localhost:8050"));
+        }
+        return new SplashEndpointPool(urls);
+    }
+
+    /**
+     * Takes endpoint with the least number of outstanding requests, endpoint must be released with
+     * {@link SplashEndpointPool#release(Endpoint, boolean)}
+     *
+     * @param previous endpoint that failed previous attempt of request, it is chosen only if there is no other
+     *                 endpoint, may be {@code null}
+     * @return endpoint
+     */
+    Endpoint acquire(Endpoint previous) {
+        Endpoint best = null;
+        var healthyOnly = endpoints.stream().anyMatch(endpoint -> endpoint.healthy && endpoint != previous);
+        var size = endpoints.size();
+        // start position moves, so endpoints with the same load take turns
+        var start = Math.floorMod(nextEndpoint.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            var endpoint = endpoints.get((start + i) % size);
+            if (healthyOnly && (!endpoint.healthy || endpoint == previous)) continue;
+            if (best == null || endpoint.outstanding.get() < best.outstanding.get()) {
+                best = endpoint;
+            }
+        }
+        best.outstanding.incrementAndGet();
+        return best;
+    }
+
+    /**
+     * @param endpoint endpoint from {@link SplashEndpointPool#acquire(Endpoint)}
+     * @param failed true if endpoint answered like restarting or overloaded Splash
+     */
+    void release(Endpoint endpoint, boolean failed) {
+        endpoint.outstanding.decrementAndGet();
+        if (!failed) {
+            endpoint.fails.set(0);
+        } else if (endpoint.fails.incrementAndGet() >= EJECT_FAILS && endpoints.size() > 1) {
+            eject(endpoint);
+        }
+    }
+
+    void shutdown() {
+        healthCheckExecutor.shutdownNow();
+        pingClient.connectionPool().evictAll();
+    }
+
+    private void checkHealth() {
+        for (Endpoint endpoint : endpoints) {
+            var alive = ping(endpoint);
+            if (alive && !endpoint.healthy) {
+                endpoint.fails.set(0);
+                endpoint.healthy = true;
+                debugLog.info("SplashEndpointPool - Splash {} is back", endpoint.url);
+                consoleLog.info("Splash {} is back", endpoint.url);
+            } else if (!alive && endpoint.healthy) {
+                eject(endpoint);
+            }
+        }
+    }
+
+    private boolean ping(Endpoint endpoint) {
+        var request = new Request.Builder().url(endpoint.url + "/_ping").build();
+        try (Response response = pingClient.newCall(request).execute()) {
+            // any answer but server errors means that Splash (or proxy before it) is running
+            return response.code() < 500;
+        } catch (IOException | IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private void eject(Endpoint endpoint) {
+        if (!endpoint.healthy) return;
+        endpoint.healthy = false;
+        debugLog.warn("SplashEndpointPool - Splash {} is ejected", endpoint.url);
+        consoleLog.warn("Splash {} is ejected", endpoint.url);
+    }
+
+    /**
+     * Splash instance with its state
+     */
+    static class Endpoint {
+        private final Link url;
+        private final AtomicInteger outstanding = new AtomicInteger(0);
+        // fails in a row
+        private final AtomicInteger fails = new AtomicInteger(0);
+        private volatile boolean healthy = true;
+
+        Endpoint(Link url) {
+            this.url = url;
+        }
+
+        Link getUrl() {
+            return url;
+        }
+
+        int getOutstanding() {
+            return outstanding.get();
+        }
+
+        boolean isHealthy() {
+            return healthy;
+        }
+    }
+}
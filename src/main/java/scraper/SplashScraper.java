@@ -1,6 +1,7 @@
 package scraper;
 
 import com.google.gson.Gson;
+import config.ConfigurationUtils;
 import okhttp3.*;
 import org.jetbrains.annotations.NotNull;
 import spider.FailedPage;
@@ -16,6 +17,7 @@ import java.io.IOException;
 import java.net.SocketException;
 import java.util.*;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
@@ -30,10 +32,31 @@ import static logger.LoggerUtils.*;
  * Splash is restarting when eats up too much RAM.
  * In that period splash may return 503 or 502 and some connections may fail with {@link EOFException}
  * or {@link SocketException}.
- * So program schedules request retry specified number of times with some delay.
+ * So program schedules request retry with delay given by {@link RetryPolicy} (at most scraper.splash.retries
+ * property for one page), number of retries during the run is limited by {@link RetryBudget}
+ * (scraper.retry.budget.percent property of successful requests). Page that is not retried because budget is
+ * exhausted is added to failed pages with {@link RetryBudgetExhaustedException}.
  * If splash will not answer, url will be added to failed pages with {@link SplashNotRespondingException}
  * If splash redirects to page without valid url, will not scrape it
  * If page contains iframes, ignores frames that leads to another sites and scrape frames that leads to another pages
+ * <p>
+ * Number of requests in flight is limited by {@link AdmissionController} globally (adapts to Splash load between
+ * scraper.min.requests and scraper.max.requests properties) and for every domain (scraper.max.requests.per.domain
+ * property). Domain is the host of the first scraped page, so pages of its subdomains share its limit.
+ * Page keeps its place until it is scraped, failed or canceled, retries use the same place.
+ * <p>
+ * Rendered pages are saved in {@link PageCache}, page that is found in cache is given to consumer on
+ * {@link SplashScraper#cachedPageExecutor} without request to Splash and without place in admission controller,
+ * so pages of domain are processed in parallel like responses of Splash. Expired page is used only if
+ * {@link PageRevalidator} finds that it was not modified, otherwise it is rendered again. Revalidation request is
+ * asynchronous and keeps place in admission controller like request to Splash.
+ * <p>
+ * If scraper.static.fetch.enabled property is true, page is downloaded by {@link StaticFetcher} first and is sent
+ * to Splash only if it needs JavaScript. When most pages of domain need JavaScript, the rest pages of domain
+ * go to Splash right away. Static page keeps place in admission controller like request to Splash.
+ * <p>
+ * Requests are balanced between Splash instances from splash.endpoints property by {@link SplashEndpointPool},
+ * retry goes to other instance than failed request.
  */
 public class SplashScraper implements Scraper {
     private static final OkHttpClient httpClient = new OkHttpClient.Builder()
@@ -41,23 +64,71 @@ public class SplashScraper implements Scraper {
             .connectTimeout(5, TimeUnit.MINUTES)
             .writeTimeout(5, TimeUnit.MINUTES)
             .build();
-    private static final ScheduledExecutorService retryExecutor = Executors.newSingleThreadScheduledExecutor();
     // in millis
     private static final int SPLASH_RESTART_TIME = 3000;
-    private static final int SPLASH_RETRY_TIMEOUT = 500;
-    private static final int SPLASH_IS_UNAVAILABLE_RETRIES = 10;
+    // retry is not sent before Splash is restarted
+    private static final int SPLASH_RETRY_TIMEOUT = SPLASH_RESTART_TIME;
+    private static final int SPLASH_MAX_RETRY_TIMEOUT = 10000;
+    private static final int SPLASH_IS_UNAVAILABLE_RETRIES =
+            ConfigurationUtils.getIntProperty("scraper.splash.retries", 10);
+    // retries that are allowed before any request succeeded
+    private static final int MIN_RETRIES = 20;
+    private static final ScheduledExecutorService retryExecutor = Executors.newSingleThreadScheduledExecutor();
+    private static final AdmissionController admissionController = new AdmissionController(
+            ConfigurationUtils.getIntProperty("scraper.min.requests", 3),
+            ConfigurationUtils.getIntProperty("scraper.max.requests", 15),
+            ConfigurationUtils.getIntProperty("scraper.max.requests.per.domain", 5),
+            SPLASH_RESTART_TIME
+    );
+    // processes pages from cache, as many threads as requests to Splash in flight
+    private static final ExecutorService cachedPageExecutor =
+            Executors.newFixedThreadPool(admissionController.getMaxRequests());
+    private static final RetryBudget retryBudget = new RetryBudget(
+            MIN_RETRIES,
+            ConfigurationUtils.getIntProperty("scraper.retry.budget.percent", 20)
+    );
     private static final Gson gson = new Gson();
+    private static final PageCache pageCache = PageCache.fromProperties();
+    private static final PageRevalidator revalidator = new PageRevalidator();
+    private static final SplashEndpointPool endpointPool = SplashEndpointPool.fromProperties();
+    private static final StaticFetcher staticFetcher =
+            Boolean.parseBoolean(System.getProperty("scraper.static.fetch.enabled", "true").trim())
+                    ? new StaticFetcher() : null;
+    // pages of domain that needed JavaScript before domain is sent to Splash only
+    private static final int MIN_DYNAMIC_PAGES = 2;
+
+    static {
+        // all requests go to the same host, admission controller is responsible for limits
+        httpClient.dispatcher().setMaxRequests(admissionController.getMaxRequests());
+        httpClient.dispatcher().setMaxRequestsPerHost(admissionController.getMaxRequests());
+    }
 
     private final Statistic stat = new Statistic();
     private final SplashRequestFactory renderReqFactory;
+    private final RetryPolicy retryPolicy;
     // contains calls that are proceeded by http client or retry schedule executor
     private final Set<Call> calls = ConcurrentHashMap.newKeySet();
     private final ConcurrentLinkedQueue<FailedPage> failedPages = new ConcurrentLinkedQueue<>();
-    private final AtomicInteger scheduledToRetry = new AtomicInteger(0);
     private final AtomicReference<String> domain = new AtomicReference<>();
+    // host of the first scraped page (root of domain), all pages of this scraper take place for it
+    private final AtomicReference<String> domainKey = new AtomicReference<>();
+    // pages of domain that were downloaded by static fetcher and that needed JavaScript
+    private final AtomicInteger staticPages = new AtomicInteger(0);
+    private final AtomicInteger dynamicPages = new AtomicInteger(0);
+    // pages from cache that are not processed yet are skipped after cancelAll
+    private volatile boolean canceled = false;
+    private final AtomicBoolean started = new AtomicBoolean(false);
+    private volatile Runnable onStarted = () -> {};
 
     public SplashScraper(SplashRequestFactory renderReqFactory) {
+        this(renderReqFactory, new DecorrelatedJitterRetryPolicy(
+                SPLASH_RETRY_TIMEOUT, SPLASH_MAX_RETRY_TIMEOUT, SPLASH_IS_UNAVAILABLE_RETRIES
+        ));
+    }
+
+    public SplashScraper(SplashRequestFactory renderReqFactory, RetryPolicy retryPolicy) {
         this.renderReqFactory = renderReqFactory;
+        this.retryPolicy = retryPolicy;
     }
 
     /**
@@ -66,8 +137,14 @@ public class SplashScraper implements Scraper {
     public static void shutdown() {
         try {
             retryExecutor.shutdown();
+            cachedPageExecutor.shutdown();
             httpClient.dispatcher().executorService().shutdown();
             httpClient.connectionPool().evictAll();
+            revalidator.shutdown();
+            endpointPool.shutdown();
+            if (staticFetcher != null) {
+                staticFetcher.shutdown();
+            }
             var cache = httpClient.cache();
             if (cache != null) {
                 cache.close();
@@ -77,27 +154,117 @@ public class SplashScraper implements Scraper {
         }
     }
 
+    /**
+     * Sends request to Splash, waits if {@link AdmissionController} does not allow to send it now.
+     * <p>
+     * If thread is interrupted while waiting, request is not sent, page is finished and interrupted flag is set.
+     *
+     * @param link web page to be scraped
+     * @param siteConsumer consumer of html and additional information
+     * @param onFinished called when page is finished
+     */
     @Override
-    public void scrape(Link link, Consumer<Page> siteConsumer) {
-        var request = renderReqFactory.getRequest(new DefaultSplashRequestContext.Builder().setSiteUrl(link).build());
-        var call = httpClient.newCall(request);
-        calls.add(call);
-        call.enqueue(new SplashCallback(new CallContext(link, siteConsumer)));
-        stat.requestSended();
+    public void scrape(Link link, Consumer<Page> siteConsumer, Runnable onFinished) {
+        var domainKey = getDomainKey(link);
+        var cached = pageCache.get(link);
+        if (cached != null && !cached.isExpired()) {
+            markStarted();
+            var callback = new SplashCallback(new CallContext(link, siteConsumer, onFinished, domainKey));
+            try {
+                cachedPageExecutor.execute(() -> callback.handleCachedResponse(cached.getResponse()));
+            } catch (RejectedExecutionException e) {
+                onFinished.run();
+            }
+            return;
+        }
+        try {
+            admissionController.acquire(domainKey);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            onFinished.run();
+            return;
+        }
+        markStarted();
+        var context = new CallContext(link, siteConsumer, onFinished, domainKey);
+        try {
+            var revalidation = cached != null ? revalidator.newCall(cached.getResponse()) : null;
+            if (revalidation != null) {
+                calls.add(revalidation);
+                revalidation.enqueue(new RevalidationCallback(context, cached.getResponse()));
+            } else {
+                send(context);
+            }
+        } catch (RuntimeException e) {
+            // request is not sent, so nobody else finishes page
+            admissionController.release(domainKey);
+            onFinished.run();
+            throw e;
+        }
+    }
+
+    /**
+     * Sets callback that is called once, when the first page is admitted by {@link AdmissionController} or is
+     * taken from cache, so time that pages wait for place in admission controller before can be excluded
+     *
+     * @param onStarted callback, it is called from thread that scrapes domain
+     */
+    public void setOnStarted(Runnable onStarted) {
+        this.onStarted = onStarted;
+    }
+
+    private void markStarted() {
+        if (started.compareAndSet(false, true)) {
+            onStarted.run();
+        }
+    }
+
+    // downloads page statically or renders it by Splash, page must have place in admission controller
+    private void send(CallContext context) {
+        if (staticFetcher != null && !isDomainDynamic()) {
+            var call = staticFetcher.newCall(context.getLink());
+            calls.add(call);
+            call.enqueue(new StaticCallback(context));
+        } else {
+            sendToSplash(context, null);
+            stat.requestSended();
+        }
+    }
+
+    // previous endpoint is avoided, it is null for first attempt
+    private void sendToSplash(CallContext context, SplashEndpointPool.Endpoint previous) {
+        var endpoint = endpointPool.acquire(previous);
+        try {
+            var request = renderReqFactory.getRequest(new DefaultSplashRequestContext.Builder()
+                    .setSiteUrl(context.getLink())
+                    .setSplashUrl(endpoint.getUrl())
+                    .build());
+            var call = httpClient.newCall(request);
+            calls.add(call);
+            call.enqueue(new SplashCallback(context, endpoint));
+        } catch (RuntimeException e) {
+            endpointPool.release(endpoint, false);
+            throw e;
+        }
+    }
+
+    // most of pages need JavaScript, so downloading them first is a waste of time
+    private boolean isDomainDynamic() {
+        var dynamic = dynamicPages.get();
+        return dynamic >= MIN_DYNAMIC_PAGES && dynamic > 2 * staticPages.get();
     }
 
     /**
-     * Returns number of pages which are being processed.
+     * Returns number of pages which are being processed by this scraper.
      * <p>
      * Takes into account requests that are proceeded by http client
-     * and requests that only waiting to be retried.
+     * and requests that only waiting to be retried. Http client is shared between scrapers,
+     * so only own calls are counted.
      *
      * @return number of pages which are being processed
      */
     @Override
     public int scrapingPagesCount() {
-        // order is important
-        return scheduledToRetry.get() + httpClient.dispatcher().runningCallsCount();
+        return calls.size();
     }
 
     /**
@@ -105,6 +272,7 @@ public class SplashScraper implements Scraper {
      */
     @Override
     public void cancelAll() {
+        canceled = true;
         synchronized (calls) {
             calls.forEach(Call::cancel);
         }
@@ -120,10 +288,22 @@ public class SplashScraper implements Scraper {
      *
      * @return statistic
      */
+    @Override
     public Statistic getStatistic() {
         return stat;
     }
 
+    // scraper belongs to one domain, so pages of its subdomains are counted for the domain too
+    private String getDomainKey(Link link) {
+        var key = domainKey.get();
+        if (key == null) {
+            var host = link.getHost();
+            domainKey.compareAndSet(null, host.startsWith("www.") ? host.substring(4) : host);
+            key = domainKey.get();
+        }
+        return key;
+    }
+
 
     /**
      * Class that contains all logic in charge of handling response
@@ -132,13 +312,22 @@ public class SplashScraper implements Scraper {
         private final Link initialLink;
         private final Consumer<Page> consumer;
         private final CallContext context;
+        // null for pages that are not rendered by Splash
+        private final SplashEndpointPool.Endpoint endpoint;
         private Link finalLink;
         private Call call;
+        private boolean retryScheduled = false;
+        private boolean endpointFailed = false;
 
         public SplashCallback(CallContext context) {
+            this(context, null);
+        }
+
+        public SplashCallback(CallContext context, SplashEndpointPool.Endpoint endpoint) {
             this.initialLink = context.getLink();
             this.consumer = context.getConsumer();
             this.context = context;
+            this.endpoint = endpoint;
         }
 
         /**
@@ -151,10 +340,31 @@ public class SplashScraper implements Scraper {
         @Override
         public void onFailure(@NotNull Call call, @NotNull IOException e) {
             this.call = call;
-            if (!call.isCanceled()) {
-                handleFail(e);
+            try {
+                if (!call.isCanceled()) {
+                    handleFail(e);
+                }
+            } catch (Exception ex) {
+                handleExceptionOnResponse(ex);
+            } finally {
+                complete(call);
+            }
+        }
+
+        // finishes page if it is not going to be retried
+        private void complete(Call call) {
+            if (endpoint != null) {
+                endpointPool.release(endpoint, endpointFailed);
             }
             calls.remove(call);
+            if (!retryScheduled) {
+                finishPage();
+            }
+        }
+
+        private void finishPage() {
+            admissionController.release(context.getDomainKey());
+            context.getOnFinished().run();
         }
 
         private void handleFail(IOException e) {
@@ -178,54 +388,54 @@ public class SplashScraper implements Scraper {
         }
 
         private void handleSplashRestarting(String reason) {
-            var delay = getDelay(context.getRetryCount());
+            endpointFailed = true;
+            admissionController.onOverload();
+            var delay = retryPolicy.getDelay(context.getRetryCount(), context.getDelay());
             if (delay == -1) {
                 throw new SplashNotRespondingException();
+            } else if (!retryBudget.tryAcquire()) {
+                debugLog.warn("SplashScraper - {}, retry budget is exhausted, page {} was not scraped",
+                        reason, initialLink);
+                stat.retryRejected();
+                failedPages.add(new FailedPage(new RetryBudgetExhaustedException(), initialLink));
             } else {
                 scheduleToRetry(delay, reason);
             }
         }
 
-        /**
-         * Gives delay for next retry.
-         * <p>
-         * Returns -1 if retry count is done
-         *
-         * @param retryCount number of retries
-         * @return delay (in millis)
-         */
-        private int getDelay(int retryCount) {
-            var delay = -1;
-            if (retryCount == 0) {
-                delay = SPLASH_RESTART_TIME;
-            } else if (retryCount < SPLASH_IS_UNAVAILABLE_RETRIES) {
-                delay = SPLASH_RETRY_TIMEOUT;
-            }
-            return delay;
-        }
-
-        private void scheduleToRetry(int delay, String reason) {
+        private void scheduleToRetry(long delay, String reason) {
             logRetry(reason);
             synchronized (calls) {
                 if (!call.isCanceled()) {
                     var newCall = call.clone();
                     calls.add(newCall);
-                    retryExecutor.schedule(() -> retry(newCall), delay, TimeUnit.MILLISECONDS);
+                    retryScheduled = true;
+                    stat.retryScheduled(delay);
+                    retryExecutor.schedule(() -> retry(newCall, delay), delay, TimeUnit.MILLISECONDS);
                 }
             }
         }
 
         private void logRetry(String reason) {
-            scheduledToRetry.incrementAndGet();
             debugLog.warn("SplashScraper - {}, request will be retried {}", reason, initialLink);
         }
 
-        private void retry(Call call) {
-            if (!call.isCanceled()) {
-                call.enqueue(new SplashCallback(context.getForNewRetry()));
-                scheduledToRetry.decrementAndGet();
-                stat.requestRetried();
+        // call is a placeholder that is canceled by cancelAll, request is sent again to other endpoint
+        private void retry(Call call, long delay) {
+            synchronized (calls) {
+                try {
+                    if (!call.isCanceled()) {
+                        sendToSplash(context.getForNewRetry(delay), endpoint);
+                        calls.remove(call);
+                        stat.requestRetried();
+                        return;
+                    }
+                } catch (RuntimeException e) {
+                    handleExceptionOnResponse(e);
+                }
+                calls.remove(call);
             }
+            finishPage();
         }
 
         /**
@@ -248,8 +458,9 @@ public class SplashScraper implements Scraper {
                 }
             } catch (Exception e) {
                 handleExceptionOnResponse(e);
+            } finally {
+                complete(call);
             }
-            calls.remove(call);
         }
 
         private void handleResponse(Response response) throws IOException {
@@ -270,8 +481,74 @@ public class SplashScraper implements Scraper {
 
         public void handleSuccessfulResponse(Response response) throws IOException {
             stat.requestSucceeded();
+            admissionController.onSuccess();
+            retryBudget.onSuccess();
             var body = extractResponseBode(response);
             var splashResponse = gson.fromJson(body, SplashResponse.class);
+            if (!splashResponse.getUrl().equals("")) {
+                pageCache.put(initialLink, splashResponse);
+            }
+            handleSplashResponse(splashResponse);
+        }
+
+        /**
+         * Gives page that was downloaded without Splash to consumer and finishes it
+         *
+         * @param call call of static fetcher
+         * @param splashResponse downloaded page
+         */
+        void handleStaticResponse(Call call, SplashResponse splashResponse) {
+            this.call = call;
+            stat.pageFetchedStatically();
+            try {
+                pageCache.put(initialLink, splashResponse);
+                handleSplashResponse(splashResponse);
+            } catch (Exception e) {
+                handleExceptionOnResponse(e);
+            } finally {
+                complete(call);
+            }
+        }
+
+        /**
+         * Gives expired page from cache that was not modified to consumer and finishes it
+         *
+         * @param call revalidation call
+         * @param splashResponse cached response
+         */
+        void handleRevalidatedResponse(Call call, SplashResponse splashResponse) {
+            this.call = call;
+            stat.pageFromCache();
+            try {
+                handleSplashResponse(splashResponse);
+            } catch (Exception e) {
+                handleExceptionOnResponse(e);
+            } finally {
+                complete(call);
+            }
+        }
+
+        /**
+         * Gives page from cache to consumer and finishes it, there is no call and no place in admission controller
+         *
+         * @param splashResponse cached response
+         */
+        void handleCachedResponse(SplashResponse splashResponse) {
+            if (canceled) {
+                context.getOnFinished().run();
+                return;
+            }
+            stat.pageFromCache();
+            try {
+                handleSplashResponse(splashResponse);
+            } catch (Exception e) {
+                handleExceptionOnResponse(e);
+            } finally {
+                context.getOnFinished().run();
+            }
+        }
+
+        private void handleSplashResponse(SplashResponse splashResponse) {
             var splashUrl = splashResponse.getUrl();
             if (splashUrl.equals("")) {
                 var info = new Response400Info();
@@ -285,7 +562,8 @@ public class SplashScraper implements Scraper {
             finalLink = new Link(splashResponse.getUrl());
             if (!isSameSite()) return;
             logRedirect();
-            if (!call.isCanceled()) {
+            // cached page has no call
+            if (call == null ? !canceled : !call.isCanceled()) {
                 var frames = getFrames(splashResponse);
                 consumer.accept(new Page(new Html(splashResponse.getHtml(), finalLink), initialLink, frames));
                 stat.siteScraped();
@@ -353,6 +631,7 @@ public class SplashScraper implements Scraper {
         }
 
         private void handleTimeoutResponse() {
+            admissionController.onOverload();
             debugLog.warn("SplashScraper - Timeout expired, page {} was not scraped", initialLink);
             stat.requestTimeout();
         }
@@ -414,22 +693,149 @@ public class SplashScraper implements Scraper {
         }
     }
 
+    /**
+     * Handles page downloaded by {@link StaticFetcher}, sends page to Splash if it needs JavaScript or if it
+     * failed to download (Splash knows how to handle network errors)
+     */
+    private class StaticCallback implements Callback {
+        private final CallContext context;
+
+        StaticCallback(CallContext context) {
+            this.context = context;
+        }
+
+        @Override
+        public void onFailure(@NotNull Call call, @NotNull IOException e) {
+            debugLog.debug("SplashScraper - Static fetch failed {} {}", context.getLink(), e.toString());
+            fallBackToSplash(call);
+        }
+
+        @Override
+        public void onResponse(@NotNull Call call, @NotNull Response response) {
+            SplashResponse splashResponse = null;
+            try (response) {
+                if (!call.isCanceled()) {
+                    splashResponse = staticFetcher.toSplashResponse(response);
+                }
+            } catch (Exception e) {
+                debugLog.debug("SplashScraper - Static fetch failed {} {}", context.getLink(), e.toString());
+            }
+            if (splashResponse == null) {
+                fallBackToSplash(call);
+            } else {
+                staticPages.incrementAndGet();
+                new SplashCallback(context).handleStaticResponse(call, splashResponse);
+            }
+        }
+
+        private void fallBackToSplash(Call call) {
+            var sent = false;
+            synchronized (calls) {
+                if (!call.isCanceled()) {
+                    dynamicPages.incrementAndGet();
+                    // new call is added before static one is removed, so page is always counted
+                    try {
+                        sendToSplash(context, null);
+                        stat.requestSended();
+                        sent = true;
+                    } catch (RuntimeException e) {
+                        debugLog.error("SplashScraper - Request is not sent {}", context.getLink(), e);
+                        failedPages.add(new FailedPage(e, context.getLink()));
+                    }
+                }
+                calls.remove(call);
+            }
+            if (!sent) {
+                admissionController.release(context.getDomainKey());
+                context.getOnFinished().run();
+            }
+        }
+    }
+
+    /**
+     * Handles answer to conditional request for expired page from cache. Page that was not modified is taken
+     * from cache and saved again for next ttl, otherwise it is downloaded again with the same place in admission
+     * controller
+     */
+    private class RevalidationCallback implements Callback {
+        private final CallContext context;
+        private final SplashResponse cached;
+
+        RevalidationCallback(CallContext context, SplashResponse cached) {
+            this.context = context;
+            this.cached = cached;
+        }
+
+        @Override
+        public void onFailure(@NotNull Call call, @NotNull IOException e) {
+            debugLog.debug("SplashScraper - Revalidation failed {} {}", context.getLink(), e.toString());
+            sendAgain(call);
+        }
+
+        @Override
+        public void onResponse(@NotNull Call call, @NotNull Response response) {
+            var notModified = false;
+            try (response) {
+                notModified = !call.isCanceled() && revalidator.isNotModified(cached, response);
+            } catch (Exception e) {
+                debugLog.debug("SplashScraper - Revalidation failed {} {}", context.getLink(), e.toString());
+            }
+            if (notModified) {
+                debugLog.debug("SplashScraper - Page is not modified {}", context.getLink());
+                stat.pageNotModified();
+                pageCache.put(context.getLink(), cached);
+                new SplashCallback(context).handleRevalidatedResponse(call, cached);
+            } else {
+                sendAgain(call);
+            }
+        }
+
+        private void sendAgain(Call call) {
+            var sent = false;
+            synchronized (calls) {
+                if (!call.isCanceled()) {
+                    // new call is added before revalidation is removed, so page is always counted
+                    try {
+                        send(context);
+                        sent = true;
+                    } catch (RuntimeException e) {
+                        debugLog.error("SplashScraper - Request is not sent {}", context.getLink(), e);
+                        failedPages.add(new FailedPage(e, context.getLink()));
+                    }
+                }
+                calls.remove(call);
+            }
+            if (!sent) {
+                admissionController.release(context.getDomainKey());
+                context.getOnFinished().run();
+            }
+        }
+    }
+
     /**
      * Little data class with information useful for calls
      */
     private static class CallContext {
         private final Link link;
         private final Consumer<Page> consumer;
+        private final Runnable onFinished;
+        private final String domainKey;
         private final int retryCount;
+        // delay before the last retry, in millis
+        private final long delay;
 
-        public CallContext(Link link, Consumer<Page> consumer) {
-            this(link, consumer, 0);
+        public CallContext(Link link, Consumer<Page> consumer, Runnable onFinished, String domainKey) {
+            this(link, consumer, onFinished, domainKey, 0, 0);
         }
 
-        public CallContext(Link link, Consumer<Page> consumer, int retryCount) {
+        public CallContext(Link link, Consumer<Page> consumer, Runnable onFinished, String domainKey,
+                           int retryCount, long delay) {
             this.link = link;
             this.consumer = consumer;
+            this.onFinished = onFinished;
+            this.domainKey = domainKey;
             this.retryCount = retryCount;
+            this.delay = delay;
         }
 
         public Link getLink() {
@@ -440,12 +846,24 @@ public class SplashScraper implements Scraper {
             return consumer;
         }
 
+        public Runnable getOnFinished() {
+            return onFinished;
+        }
+
+        public String getDomainKey() {
+            return domainKey;
+        }
+
         public int getRetryCount() {
             return retryCount;
         }
 
-        public CallContext getForNewRetry() {
-            return new CallContext(link, consumer, retryCount + 1);
+        public long getDelay() {
+            return delay;
+        }
+
+        public CallContext getForNewRetry(long delay) {
+            return new CallContext(link, consumer, onFinished, domainKey, retryCount + 1, delay);
         }
     }
 }
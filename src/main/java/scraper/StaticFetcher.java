@@ -0,0 +1,108 @@
+package scraper;
+
+import okhttp3.Call;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import splash.SplashResponse;
+import utils.Link;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Class that downloads page with plain http request, without rendering it in Splash.
+ * <p>
+ * Most sites are rendered on server, so html that is downloaded has the same words as html rendered by Splash.
+ * Page is considered to need JavaScript (so it must be rendered by Splash) if it is not html, has frames (except
+ * frames inside &lt;noscript&gt;) or meta refresh, asks to enable JavaScript in &lt;noscript&gt;, has root element of single page application
+ * without text, or has almost no text at all.
+ */
+class StaticFetcher {
+    // visible text of page which is shorter is probably added by scripts
+    private static final int MIN_TEXT_LENGTH = 200;
+    // bigger pages are left to Splash, they are not kept in memory twice
+    private static final int MAX_BODY_SIZE = 5 * 1024 * 1024;
+    private static final String SPA_ROOTS = "#root, #app, #__next, #__nuxt, [ng-app], [ng-version], [data-reactroot]";
+    private static final String USER_AGENT = "Mozilla/5.0 (X11; Linux x86_64) AppleWebKit/605.1.15 (KHTML, like Gecko)";
+
+    private final OkHttpClient httpClient = new OkHttpClient.Builder()
+            .connectTimeout(10, TimeUnit.SECONDS)
+            .readTimeout(10, TimeUnit.SECONDS)
+            .callTimeout(20, TimeUnit.SECONDS)
+            .build();
+
+    StaticFetcher() {
+        // requests go to different sites, admission controller limits them
+        httpClient.dispatcher().setMaxRequests(Integer.MAX_VALUE);
+        httpClient.dispatcher().setMaxRequestsPerHost(Integer.MAX_VALUE);
+    }
+
+    Call newCall(Link link) {
+        return httpClient.newCall(new Request.Builder()
+                .url(link.toString())
+                .header("User-Agent", USER_AGENT)
+                .build());
+    }
+
+    /**
+     * Converts response of site to the same response Splash would return
+     *
+     * @param response response of call from {@link StaticFetcher#newCall(Link)}
+     * @return response or {@code null} if page needs to be rendered by Splash
+     * @throws IOException if body cannot be read
+     */
+    SplashResponse toSplashResponse(Response response) throws IOException {
+        var body = response.body();
+        if (response.code() != 200 || body == null) return null;
+        var type = body.contentType();
+        if (type == null || !type.subtype().toLowerCase(Locale.ROOT).equals("html")) return null;
+        if (body.contentLength() > MAX_BODY_SIZE) return null;
+        var bytes = body.bytes();
+        if (bytes.length > MAX_BODY_SIZE) return null;
+        var url = response.request().url().toString();
+        var charset = type.charset();
+        // without charset in header jsoup looks for meta charset, like browser
+        var document = Jsoup.parse(new ByteArrayInputStream(bytes), charset == null ? null : charset.name(), url);
+        if (needsJavaScript(document)) return null;
+        // served html in charset found by jsoup, it is parsed again by Html
+        var html = new String(bytes, document.charset());
+        if (html.startsWith("\uFEFF")) {
+            html = html.substring(1);
+        }
+        return new SplashResponse(html, url, null,
+                response.header("ETag"), response.header("Last-Modified"));
+    }
+
+    void shutdown() {
+        httpClient.dispatcher().executorService().shutdown();
+        httpClient.connectionPool().evictAll();
+    }
+
+    static boolean needsJavaScript(Document document) {
+        // Splash returns html of frames, and waits for refresh
+        if (document.selectFirst("meta[http-equiv~=(?i)refresh]") != null) return true;
+        for (Element frame : document.select("iframe, frame")) {
+            if (!isInsideNoscript(frame)) return true;
+        }
+        for (Element noscript : document.select("noscript")) {
+            if (noscript.text().toLowerCase(Locale.ROOT).contains("javascript")) return true;
+        }
+        var spaRoot = document.selectFirst(SPA_ROOTS);
+        if (spaRoot != null && spaRoot.text().length() < MIN_TEXT_LENGTH) return true;
+        return document.body() == null || document.body().text().length() < MIN_TEXT_LENGTH;
+    }
+
+    // frame in noscript (e.g. tracking pixel of tag manager) is not loaded by browser with JavaScript, like Splash
+    private static boolean isInsideNoscript(Element element) {
+        for (Element parent : element.parents()) {
+            if (parent.normalName().equals("noscript")) return true;
+        }
+        return false;
+    }
+}
@@ -1,11 +1,18 @@
 package scraper;
 
+import java.util.Arrays;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 
 /**
  * Class used by SplashScraper to keep statistic
  */
 public class Statistic {
+    // upper bounds of retry delay histogram buckets (in millis), last bucket is unbounded.
+    // Retry delay of SplashScraper is between 3s (Splash restart time) and 10s (max delay), so the first bucket
+    // starts there
+    private static final long[] RETRY_DELAY_BOUNDS = {5000, 8000};
+
     private final AtomicInteger requestsSended = new AtomicInteger(0);
     private final AtomicInteger requestsSucceeded = new AtomicInteger(0);
     private final AtomicInteger requestsFailed = new AtomicInteger(0);
@@ -15,6 +22,12 @@ public class Statistic {
     private final AtomicInteger responsesRejected = new AtomicInteger(0);
     private final AtomicInteger responsesException = new AtomicInteger(0);
     private final AtomicInteger responsesWithHTTPFailCode = new AtomicInteger(0);
+    private final AtomicInteger retriesRejected = new AtomicInteger(0);
+    private final AtomicInteger pagesFromCache = new AtomicInteger(0);
+    private final AtomicInteger pagesNotModified = new AtomicInteger(0);
+    private final AtomicInteger pagesFetchedStatically = new AtomicInteger(0);
+    private final AtomicInteger pagesNearDuplicate = new AtomicInteger(0);
+    private final AtomicIntegerArray retryDelays = new AtomicIntegerArray(RETRY_DELAY_BOUNDS.length + 1);
 
     public int getRequestsSended() {
         return requestsSended.get();
@@ -52,6 +65,39 @@ public class Statistic {
         return responsesWithHTTPFailCode.get();
     }
 
+    public int getRetriesRejected() {
+        return retriesRejected.get();
+    }
+
+    public int getPagesFromCache() {
+        return pagesFromCache.get();
+    }
+
+    public int getPagesNotModified() {
+        return pagesNotModified.get();
+    }
+
+    public int getPagesFetchedStatically() {
+        return pagesFetchedStatically.get();
+    }
+
+    public int getPagesNearDuplicate() {
+        return pagesNearDuplicate.get();
+    }
+
+    /**
+     * Returns number of scheduled retries in every delay bucket: &lt;5s, 5-8s, &ge;8s
+     *
+     * @return retry delay histogram
+     */
+    public int[] getRetryDelays() {
+        var res = new int[retryDelays.length()];
+        for (int i = 0; i < res.length; i++) {
+            res[i] = retryDelays.get(i);
+        }
+        return res;
+    }
+
     public void requestSended() {
         requestsSended.incrementAndGet();
     }
@@ -68,6 +114,43 @@ public class Statistic {
         requestsRetried.incrementAndGet();
     }
 
+    /**
+     * @param delay delay before retry (in millis)
+     */
+    public void retryScheduled(long delay) {
+        var bucket = 0;
+        while (bucket < RETRY_DELAY_BOUNDS.length && delay >= RETRY_DELAY_BOUNDS[bucket]) {
+            bucket++;
+        }
+        retryDelays.incrementAndGet(bucket);
+    }
+
+    public void retryRejected() {
+        retriesRejected.incrementAndGet();
+    }
+
+    public void pageFromCache() {
+        pagesFromCache.incrementAndGet();
+    }
+
+    /**
+     * Expired page from cache was revalidated, it is counted in pages from cache too
+     */
+    public void pageNotModified() {
+        pagesNotModified.incrementAndGet();
+    }
+
+    public void pageFetchedStatically() {
+        pagesFetchedStatically.incrementAndGet();
+    }
+
+    /**
+     * Page is near-duplicate of other page of domain, its links are dropped
+     */
+    public void pageNearDuplicate() {
+        pagesNearDuplicate.incrementAndGet();
+    }
+
     public void requestTimeout() {
         requestsTimeout.incrementAndGet();
     }
@@ -93,7 +176,8 @@ public class Statistic {
         return String.format(
                 "Requests sended %d, request retried %d, requests succeeded %d, requests failed %d, \n"
                         + "request timeout %d, pages scraped %d, exceptions %d, responses rejected %d, responses" +
-                        " status code fail %d",
+                        " status code fail %d, \nretries rejected by budget %d, retry delays (<5s, 5-8s, " +
+                        ">=8s) %s, pages from cache %d (not modified %d), pages without Splash %d, \nnear-duplicate pages %d",
                 getRequestsSended(),
                 getRequestsRetried(),
                 getRequestSucceeded(),
@@ -102,7 +186,13 @@ public class Statistic {
                 getSitesScraped(),
                 getResponsesException(),
                 getResponsesRejected(),
-                getHTTPFail()
+                getHTTPFail(),
+                getRetriesRejected(),
+                Arrays.toString(getRetryDelays()),
+                getPagesFromCache(),
+                getPagesNotModified(),
+                getPagesFetchedStatically(),
+                getPagesNearDuplicate()
         );
     }
 }
@@ -42,4 +42,12 @@ public interface Context {
      * @return filtered words
      */
     Collection<String> filterWords(Collection<String> words);
+
+    /**
+     * Checks if page is near-duplicate of page of the same domain processed before
+     *
+     * @param words filtered words of page
+     * @return true if page is near-duplicate
+     */
+    boolean isDuplicate(Collection<String> words);
 }
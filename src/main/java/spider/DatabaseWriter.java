@@ -0,0 +1,195 @@
+package spider;
+
+import config.ConfigurationUtils;
+import database.Database;
+import database.models.Word;
+import utils.Link;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static logger.LoggerUtils.consoleLog;
+import static logger.LoggerUtils.debugLog;
+
+/**
+ * Class that puts words of scraped domains into database in background thread.
+ * <p>
+ * Queue of domains is bounded by spider.write.queue.size property, when database falls behind
+ * {@link DatabaseWriter#submit(Link, int, Collection, boolean)} blocks, so crawler waits instead of keeping words of
+ * many domains in memory. Domains that are waiting in queue are written together with one
+ * {@link Database#putWords(Collection, Collection)} call (one transaction), up to spider.write.batch.words words.
+ * Domains that were scraped completely are marked in database together with their words, so they are skipped
+ * after restart. Batch that failed is written again, if it is still not written, its domains are not marked
+ * and {@link DatabaseWriter#hasFailed()} is true.
+ */
+class DatabaseWriter implements AutoCloseable {
+    // marker that is put into queue when writer is closed
+    private static final DomainWords END = new DomainWords(0, List.of(), null);
+    private static final int WRITE_ATTEMPTS = 3;
+    // in milliseconds
+    private static final int WRITE_RETRY_DELAY = 1000;
+
+    private final Database database;
+    private final BlockingQueue<DomainWords> queue;
+    private final int batchWords;
+    private final ExecutorService writerExec = Executors.newSingleThreadExecutor();
+    private volatile boolean closed = false;
+    private volatile boolean failed = false;
+
+    DatabaseWriter(Database database) {
+        this.database = database;
+        queue = new ArrayBlockingQueue<>(Math.max(1, ConfigurationUtils.getIntProperty("spider.write.queue.size", 8)));
+        batchWords = Math.max(1, ConfigurationUtils.getIntProperty("spider.write.batch.words", 5000));
+        writerExec.execute(this::writeLoop);
+    }
+
+    /**
+     * Adds words of domain to write queue, waits if queue is full
+     *
+     * @param domain scraped domain
+     * @param websiteId id of domain's website
+     * @param words words of domain
+     * @param completed true if domain was scraped without errors and must not be scraped again
+     * @throws InterruptedException if interrupted while waiting
+     */
+    void submit(Link domain, int websiteId, Collection<String> words, boolean completed) throws InterruptedException {
+        if (closed) {
+            throw new IllegalStateException("DatabaseWriter is closed");
+        }
+        if (words.isEmpty()) {
+            debugLog.warn("DatabaseWriter - An empty list of words came to the database {}", domain);
+            consoleLog.warn("An empty list of words came to the database {}", domain);
+            if (!completed) return;
+        }
+        queue.put(new DomainWords(websiteId, words, completed ? domain.fixWWW().getHost() : null));
+    }
+
+    /**
+     * Writes words that are left in queue and stops writer thread. Waits until it is done even if thread is
+     * interrupted, so words are in database when method returns
+     */
+    @Override
+    public void close() {
+        closed = true;
+        var interrupted = false;
+        while (true) {
+            try {
+                queue.put(END);
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        writerExec.shutdown();
+        while (true) {
+            try {
+                if (writerExec.awaitTermination(1, TimeUnit.MINUTES)) break;
+                debugLog.info("DatabaseWriter - Waiting for {} domains to be written", queue.size());
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return true if words of some domains were not written, so they are not marked as completed
+     */
+    boolean hasFailed() {
+        return failed;
+    }
+
+    private void writeLoop() {
+        List<DomainWords> batch = new ArrayList<>();
+        var ended = false;
+        while (!ended) {
+            try {
+                var first = queue.take();
+                if (first == END) break;
+                batch.add(first);
+                var words = first.words.size();
+                DomainWords next;
+                while (words < batchWords && (next = queue.poll()) != null) {
+                    if (next == END) {
+                        ended = true;
+                        break;
+                    }
+                    batch.add(next);
+                    words += next.words.size();
+                }
+                write(batch, words);
+            } catch (InterruptedException e) {
+                // writer is stopped only by close, so words in queue are not lost
+                debugLog.warn("DatabaseWriter - Interrupted, continue writing");
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<DomainWords> batch, int size) {
+        debugLog.info("DatabaseWriter - Start writing {} words of {} domains", size, batch.size());
+        var words = new HashSet<Word>(size * 4 / 3 + 1);
+        var completedDomains = new ArrayList<String>();
+        for (DomainWords domainWords : batch) {
+            for (String word : domainWords.words) {
+                words.add(Word.newInstance(domainWords.websiteId, word));
+            }
+            if (domainWords.completedDomain != null) {
+                completedDomains.add(domainWords.completedDomain);
+            }
+        }
+        for (int attempt = 1; attempt <= WRITE_ATTEMPTS; attempt++) {
+            if (tryWrite(words, completedDomains)) {
+                debugLog.info("DatabaseWriter - Complete");
+                return;
+            }
+            if (attempt < WRITE_ATTEMPTS) {
+                pauseBeforeRetry();
+            }
+        }
+        failed = true;
+        consoleLog.error("DatabaseWriter - Failed to put words of {} domains into database, they are not completed",
+                batch.size());
+    }
+
+    // writer is stopped only by close, so batch is written again even if thread is interrupted
+    private void pauseBeforeRetry() {
+        try {
+            Thread.sleep(WRITE_RETRY_DELAY);
+        } catch (InterruptedException e) {
+            debugLog.warn("DatabaseWriter - Interrupted, continue writing");
+        }
+    }
+
+    private boolean tryWrite(Collection<Word> words, Collection<String> completedDomains) {
+        try {
+            return database.putWords(words, completedDomains);
+        } catch (Exception e) {
+            debugLog.error("DatabaseWriter - Failed to put words into database:", e);
+            return false;
+        }
+    }
+
+    private static class DomainWords {
+        private final int websiteId;
+        private final Collection<String> words;
+        // null if domain is not completed
+        private final String completedDomain;
+
+        DomainWords(int websiteId, Collection<String> words, String completedDomain) {
+            this.websiteId = websiteId;
+            this.words = words;
+            this.completedDomain = completedDomain;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package spider;
 
 import crawler.Crawler;
 import crawler.LinkFilter;
+import extractor.DuplicateDetector;
 import extractor.Extractor;
 import extractor.WordFilter;
 import utils.Html;
@@ -17,15 +18,21 @@ public class DefaultContext implements Context {
     private final LinkFilter linkFilter;
     private final Extractor extractor;
     private final WordFilter wordFilter;
+    private final DuplicateDetector duplicateDetector;
 
+    /**
+     * @param duplicateDetector detector of near-duplicate pages, {@code null} if pages are not checked
+     */
     DefaultContext(Crawler crawler,
             Extractor extractor,
             LinkFilter linkFilter,
-            WordFilter wordFilter) {
+            WordFilter wordFilter,
+            DuplicateDetector duplicateDetector) {
         this.crawler = crawler;
         this.linkFilter = linkFilter;
         this.extractor = extractor;
         this.wordFilter = wordFilter;
+        this.duplicateDetector = duplicateDetector;
     }
 
     @Override
@@ -47,4 +54,9 @@ public class DefaultContext implements Context {
     public Collection<String> filterWords(Collection<String> words) {
         return wordFilter.filter(words);
     }
+
+    @Override
+    public boolean isDuplicate(Collection<String> words) {
+        return duplicateDetector != null && duplicateDetector.isDuplicate(words);
+    }
 }
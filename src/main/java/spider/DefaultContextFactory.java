@@ -1,16 +1,26 @@
 package spider;
 
+import config.ConfigurationUtils;
 import crawler.Crawler;
 import crawler.DefaultCrawler;
 import crawler.DefaultLinkFilter;
 import extractor.DefaultExtractor;
 import extractor.DefaultWordFilter;
 import extractor.Extractor;
+import extractor.SimHashDuplicateDetector;
 
 /**
  * Simple class that choose default behaviors
+ * <p>
+ * If spider.duplicate.detection.enabled property is true, near-duplicate pages of domain are found by
+ * {@link SimHashDuplicateDetector} with spider.duplicate.max.distance
  */
 public class DefaultContextFactory implements ContextFactory {
+    private static final boolean duplicateDetection =
+            Boolean.parseBoolean(System.getProperty("spider.duplicate.detection.enabled", "true").trim());
+    private static final int duplicateMaxDistance =
+            ConfigurationUtils.getIntProperty("spider.duplicate.max.distance", 3);
+
     private Crawler crawler;
     private Extractor extractor;
 
@@ -26,8 +36,9 @@ public class DefaultContextFactory implements ContextFactory {
         var linkFilter = new DefaultLinkFilter();
         linkFilter.addDomain();
 
-        // LinkFilter and WordFilter have static variables with occurred link/words, so they must be reinitialized
-        // for every domain
-        return new DefaultContext(crawler, extractor, linkFilter, new DefaultWordFilter());
+        // LinkFilter, WordFilter and duplicate detector keep occurred links/words/pages, so they must be
+        // reinitialized for every domain
+        var duplicateDetector = duplicateDetection ? new SimHashDuplicateDetector(duplicateMaxDistance) : null;
+        return new DefaultContext(crawler, extractor, linkFilter, new DefaultWordFilter(), duplicateDetector);
     }
 }
@@ -0,0 +1,54 @@
+package spider;
+
+import utils.Link;
+
+import java.util.Collection;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Queue of links of one domain that knows when all pages of domain are processed.
+ * <p>
+ * Counts pending pages: links that are in queue and pages that are being scraped. Link added to queue becomes
+ * pending, page stops being pending when scraper reports that it is finished. {@link PageTask} adds new links
+ * before its page is finished, so counter reaches zero only when there is nothing left to scrape,
+ * then {@link DomainLinkQueue#take()} wakes up and returns {@code null}.
+ */
+class DomainLinkQueue {
+    // marker that is put into queue when all pages are processed
+    private static final Link END = Link.createEmptyLink();
+
+    private final BlockingQueue<Link> queue = new LinkedBlockingQueue<>();
+    private final AtomicInteger pendingPages = new AtomicInteger(0);
+
+    void add(Link link) {
+        pendingPages.incrementAndGet();
+        queue.add(link);
+    }
+
+    void addAll(Collection<Link> links) {
+        pendingPages.addAndGet(links.size());
+        queue.addAll(links);
+    }
+
+    /**
+     * Informs that page which link was taken from queue is scraped, failed or canceled
+     */
+    void pageFinished() {
+        if (pendingPages.decrementAndGet() == 0) {
+            queue.add(END);
+        }
+    }
+
+    /**
+     * Waits for next link
+     *
+     * @return next link or {@code null} if all pages are processed
+     * @throws InterruptedException if interrupted while waiting
+     */
+    Link take() throws InterruptedException {
+        var link = queue.take();
+        return link == END ? null : link;
+    }
+}
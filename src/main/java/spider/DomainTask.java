@@ -8,7 +8,6 @@ import utils.Link;
 
 import java.net.ConnectException;
 import java.util.Set;
-import java.util.concurrent.*;
 
 /**
  * Class that is fully responsible for scrape all pages from domain and put them into {@link DomainTask#resultWords}
@@ -17,7 +16,7 @@ public class DomainTask {
     private final Context context;
     private final Link domain;
     private final Scraper scraper;
-    private final BlockingQueue<Link> linkQueue = new LinkedBlockingDeque<>();
+    private final DomainLinkQueue linkQueue = new DomainLinkQueue();
     private final Set<String> resultWords;
     private int numberOfScrapedLinks = 1;
 
@@ -40,6 +39,7 @@ public class DomainTask {
      * Go through all pages on site and give them to {@link Scraper}.
      * {@link Scraper} gets link and gives html,
      * {@link PageTask} gives words for database and links for {@link Scraper}.
+     * Stops as soon as the last page is finished, see {@link DomainLinkQueue}.
      * <p>
      * Rethrows exception if domain (first link) failed, else ignore.
      */
@@ -55,37 +55,21 @@ public class DomainTask {
     }
 
     private void handleDomain() throws InterruptedException {
-        scrapeFirstLink(domain);
-        while (areAllLinksScraped()) {
-            checkIfInterrupted();
-            scrapeNextLink();
+        linkQueue.add(domain);
+        scrapeLink(linkQueue.take());
+        Link link;
+        while ((link = linkQueue.take()) != null) {
+            scrapeLink(link);
+            numberOfScrapedLinks++;
         }
         if (numberOfScrapedLinks == 1) {
             checkIfScraperThrowException();
         }
     }
 
-    private void scrapeFirstLink(Link link) {
-        scraper.scrape(link, new PageTask(context, linkQueue, resultWords)::handlePage);
-    }
-
-    // order is important
-    private boolean areAllLinksScraped() {
-        return scraper.scrapingPagesCount() != 0 || !linkQueue.isEmpty();
-    }
-
-    private void checkIfInterrupted() throws InterruptedException {
-        if (Thread.currentThread().isInterrupted()) {
-            throw new InterruptedException();
-        }
-    }
-
-    private void scrapeNextLink() throws InterruptedException {
-        var link = linkQueue.poll(200, TimeUnit.MILLISECONDS);
-        if (link != null) {
-            scraper.scrape(link, new PageTask(context, linkQueue, resultWords)::handlePage);
-            numberOfScrapedLinks++;
-        }
+    private void scrapeLink(Link link) {
+        var pageTask = new PageTask(context, linkQueue, resultWords, scraper.getStatistic());
+        scraper.scrape(link, pageTask::handlePage, linkQueue::pageFinished);
     }
 
     private void checkIfScraperThrowException() {
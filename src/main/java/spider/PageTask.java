@@ -1,34 +1,40 @@
 package spider;
 
 import logger.LoggerUtils;
+import scraper.Statistic;
 import utils.Html;
 import utils.Link;
 
 import java.util.Collection;
-import java.util.concurrent.BlockingQueue;
 
 /**
  * Class that processes html
  */
 public class PageTask {
     private final Context context;
-    private final BlockingQueue<Link> linkQueue;
+    private final DomainLinkQueue linkQueue;
     private final Collection<String> resultWords;
+    private final Statistic statistic;
 
     /**
      * @param context contains behaviors
      * @param linkQueue accumulate all links from html
      * @param resultWords accumulate all words from html
+     * @param statistic counts near-duplicate pages
      */
-    PageTask(Context context, BlockingQueue<Link> linkQueue, Collection<String> resultWords) {
+    PageTask(Context context, DomainLinkQueue linkQueue, Collection<String> resultWords, Statistic statistic) {
         this.context = context;
         this.linkQueue = linkQueue;
         this.resultWords = resultWords;
+        this.statistic = statistic;
     }
 
     /**
      * Extracts links/words, runs them through filters and adds to {@link PageTask#linkQueue}/
      * {@link PageTask#resultWords}
+     * <p>
+     * Near-duplicate page is counted in statistic. Only its links that link filter has not seen yet are followed,
+     * like links of any page, so pages linked only from later pages of paginated listing are not lost.
      *
      * @param page html and all useful info
      */
@@ -40,17 +46,22 @@ public class PageTask {
         if (!html.isLangRight()) {
             throw new HtmlLanguageException();
         }
+        var words = context.extract(html);
+        for (Html frame : frames) {
+            words.addAll(context.extract(frame));
+        }
+        var filteredWords = context.filterWords(words);
         var links = context.crawl(html);
         for (Html frame : frames) {
             links.addAll(context.crawl(frame));
         }
         var filteredLinks = context.filterLinks(links, htmlLink, initialLink);
-        linkQueue.addAll(filteredLinks);
-        var words = context.extract(html);
-        for (Html frame : frames) {
-            words.addAll(context.extract(frame));
+        if (context.isDuplicate(filteredWords)) {
+            LoggerUtils.debugLog.info("PageTask - Page is near-duplicate, {} of {} links are new {}",
+                    filteredLinks.size(), links.size(), htmlLink);
+            statistic.pageNearDuplicate();
         }
-        var filteredWords = context.filterWords(words);
+        linkQueue.addAll(filteredLinks);
         LoggerUtils.debugLog.info("PageTask - Completed {}", htmlLink.toString());
         resultWords.addAll(filteredWords);
         LoggerUtils.pageScraped();
@@ -1,5 +1,6 @@
 package spider;
 
+import config.ConfigurationUtils;
 import database.Database;
 import scraper.*;
 import splash.DefaultSplashRequestFactory;
@@ -28,7 +29,8 @@ public class Spider {
     private final Set<String> scrapedDomains = new HashSet<>();
 
     private int domainsFailsInARowCount = 0;
-    private Link domain;
+    // words of some domains were not written, database is not cleared after export, so they are scraped again
+    private boolean wordsNotWritten = false;
     private OnSpiderChangesListener listener;
     private Map<String, Integer> domainIds;
 
@@ -41,6 +43,9 @@ public class Spider {
      * Gets domains from csv file, extracts words and puts them inside database.
      * <p>
      * CSV file: "id";"company_id";"website";
+     * <p>
+     * Database is cleared after export. If words of some domains were not written, it is kept, so next run with
+     * the same file scrapes only these domains and domains that were not completed.
      *
      * @param input path to CSV file with domains
      * @param output path to which the output file with words will be placed
@@ -60,8 +65,13 @@ public class Spider {
             List<Link> domains = csvParser.getLinks();
             scrapeDomains(domains);
             if (database.exportDataToCSV(output)) {
-                database.clearWebsites();
-                database.clearWords();
+                if (wordsNotWritten) {
+                    handleWordsNotWritten();
+                } else {
+                    database.clearWebsites();
+                    database.clearWords();
+                    database.clearCrawlProgress();
+                }
             }
             onDataExported();
         } finally {
@@ -73,27 +83,52 @@ public class Spider {
      * Follows links, extracts words and puts them inside database.
      * <p>
      * Ignores repeated domains, domains are separated by host name without <i>"www"<i/>.
+     * Domains that were completed by previous run which data is not exported yet are skipped too.
+     * Up to spider.parallel.domains property domains are scraped at the same time. Domain is canceled after
+     * {@link Spider#DOMAIN_TIMEOUT} counted from the first page that got place in admission controller.
      *
      * @param domains to be scraped
      */
     public void scrapeDomains(Collection<Link> domains) {
-        var domainExec = Executors.newSingleThreadScheduledExecutor();
-        ScheduledExecutorService dbExec = Executors.newSingleThreadScheduledExecutor();
+        var parallelDomains = Math.max(1, ConfigurationUtils.getIntProperty("spider.parallel.domains", 1));
+        var domainExec = Executors.newFixedThreadPool(parallelDomains);
+        var timeoutExec = Executors.newSingleThreadScheduledExecutor();
+        var databaseWriter = new DatabaseWriter(database);
+        var completionService = new ExecutorCompletionService<Void>(domainExec);
+        // domains which are being scraped, futures are taken from completion service
+        Map<Future<Void>, ScheduledDomain> inProgress = new HashMap<>();
         var requestFactory = new DefaultSplashRequestFactory();
         onDomainsParsed(domains);
 
         try {
-            for (Link d : domains) {
-                domain = d;
-                onDomainScraped();
-                if (checkDomainAlreadyWas() && checkDomainIsSuitable()) continue;
+            var completedDomains = database.getCompletedDomains();
+            for (Link domain : domains) {
+                if (checkDomainCompleted(domain, completedDomains)) {
+                    onDomainScraped();
+                    continue;
+                }
+                if (checkDomainAlreadyWas(domain) && checkDomainIsSuitable(domain)) {
+                    onDomainScraped();
+                    continue;
+                }
+                while (inProgress.size() >= parallelDomains) {
+                    handleCompletedDomain(inProgress.remove(completionService.take()), databaseWriter);
+                }
+                var scheduledDomain = new ScheduledDomain(domain, new SplashScraper(requestFactory));
+                // domain waiting for place in admission controller behind other domains is not timed out
+                scheduledDomain.scraper.setOnStarted(() -> scheduledDomain.startTimeout(timeoutExec));
                 var context = contextFactory.createContext();
-                var scraper = new SplashScraper(requestFactory);
-                Set<String> allWords = ConcurrentHashMap.newKeySet();
-                var future = domainExec.submit(() -> new DomainTask(domain, context, scraper, allWords).scrapeDomain());
-                handleDomainFuture(future);
-                trackStatistic(scraper.getStatistic());
-                dbExec.submit(new DatabaseTask(database, domain, allWords, domainIds)::run);
+                var future = completionService.submit(() -> {
+                    // timeout that is started by scraper cancels future, so it must be set before scraping
+                    scheduledDomain.awaitFuture();
+                    new DomainTask(domain, context, scheduledDomain.scraper, scheduledDomain.words).scrapeDomain();
+                    return null;
+                });
+                scheduledDomain.setFuture(future);
+                inProgress.put(future, scheduledDomain);
+            }
+            while (!inProgress.isEmpty()) {
+                handleCompletedDomain(inProgress.remove(completionService.take()), databaseWriter);
             }
         } catch (InterruptedException e) {
             handleInterrupt(e);
@@ -104,7 +139,9 @@ public class Spider {
         } catch (Exception e) {
             debugLog.error("Spider - Failed", e);
         } finally {
-            handleFinish(domainExec, dbExec);
+            inProgress.keySet().forEach(future -> future.cancel(true));
+            timeoutExec.shutdownNow();
+            handleFinish(domainExec, databaseWriter);
         }
     }
 
@@ -112,7 +149,7 @@ public class Spider {
         this.listener = listener;
     }
 
-    private boolean checkDomainAlreadyWas() {
+    private boolean checkDomainAlreadyWas(Link domain) {
         var fixed = domain.fixWWW().getHost();
         if (scrapedDomains.contains(fixed)) {
             debugLog.info("Spider - Skip domain because is it already scraped {}", domain);
@@ -123,23 +160,62 @@ public class Spider {
         return false;
     }
 
+    private boolean checkDomainCompleted(Link domain, Set<String> completedDomains) {
+        var fixed = domain.fixWWW().getHost();
+        if (completedDomains.contains(fixed) && scrapedDomains.add(fixed)) {
+            debugLog.info("Spider - Skip domain because it is completed by previous run {}", domain);
+            return true;
+        }
+        return false;
+    }
+
     // for no apparent reason Splash completely crashes at this website
     // issue (https://github.com/scrapinghub/splash/issues/985)
     // with similar stacktrace did not receive a response
-    private boolean checkDomainIsSuitable() {
+    private boolean checkDomainIsSuitable(Link domain) {
         String host = domain.fixWWW().getHost();
         return !host.equals("m-eppich.de") && !host.equals("seat.de");
     }
 
-    private void handleDomainFuture(Future<?> future) throws InterruptedException {
+    private void handleCompletedDomain(ScheduledDomain scheduledDomain, DatabaseWriter databaseWriter)
+            throws InterruptedException {
+        var domain = scheduledDomain.domain;
+        scheduledDomain.cancelTimeout();
+        var completed = false;
+        try {
+            completed = handleDomainFuture(scheduledDomain.future, domain);
+        } finally {
+            onDomainScraped();
+        }
+        trackStatistic(scheduledDomain.scraper.getStatistic(), domain);
+        var websiteId = domainIds == null ? null : domainIds.get(domain.getAbsoluteURL());
+        if (websiteId == null) {
+            debugLog.error("Spider - Words are not saved, there is no id of site {}", domain);
+            return;
+        }
+        // blocks when database falls behind
+        databaseWriter.submit(domain, websiteId, scheduledDomain.words, completed);
+    }
+
+    // returns true if domain is scraped without errors
+    private boolean handleDomainFuture(Future<?> future, Link domain) {
         try {
-            future.get(DOMAIN_TIMEOUT, TimeUnit.SECONDS);
+            future.get();
             domainsFailsInARowCount = 0;
-        } catch (TimeoutException e) {
-            handleScraperTimeout(future);
+            return true;
+        } catch (CancellationException e) {
+            handleScraperTimeout(domain);
+        } catch (InterruptedException e) {
+            // future is already completed, so it is never thrown
+            Thread.currentThread().interrupt();
         } catch (ExecutionException e) {
             var cause = e.getCause().getClass();
-            if (cause.equals(SplashScriptExecutionException.class) || cause.equals(ScraperConnectionException.class)) {
+            if (cause.equals(RetryBudgetExhaustedException.class)) {
+                // Splash is in trouble for all domains, fails in a row are not changed
+                handleRetryBudgetExhausted(domain);
+                return false;
+            } else if (cause.equals(SplashScriptExecutionException.class)
+                    || cause.equals(ScraperConnectionException.class)) {
                 checkNumberOfScraperFails();
             } else if (cause.equals(SplashNotRespondingException.class)) {
                 throw (SplashNotRespondingException) e.getCause();
@@ -149,16 +225,24 @@ public class Spider {
             if (isScraperError(e.getCause())) {
                 debugLog.error("Spider - Site {} processing failed due to {}", domain, cause.getSimpleName());
                 consoleLog.error("Spider - Site {} processing failed due to {}", domain, cause.getSimpleName());
+                return false;
             }
+            // site in other language or with network errors would fail the same way after restart
+            return true;
         }
+        return false;
     }
 
-    private void handleScraperTimeout(Future<?> future) {
-        future.cancel(true);
+    private void handleScraperTimeout(Link domain) {
         debugLog.warn("Spider - Stopped, waiting too long for scraping site {}", domain);
         consoleLog.warn("Spider stopped, waiting too long for scraping site {}", domain);
     }
 
+    private void handleRetryBudgetExhausted(Link domain) {
+        debugLog.warn("Spider - Site {} is not scraped, retry budget is exhausted", domain);
+        consoleLog.warn("Spider - Site {} is not scraped, retry budget is exhausted", domain);
+    }
+
     private void checkNumberOfScraperFails() {
         ++domainsFailsInARowCount;
         if (domainsFailsInARowCount == DOMAINS_FAILS) {
@@ -166,7 +250,7 @@ public class Spider {
         }
     }
 
-    private void trackStatistic(Statistic statistic) {
+    private void trackStatistic(Statistic statistic, Link domain) {
         debugLog.info("Spider - {}, site {}", statistic.toString(), domain);
     }
 
@@ -205,21 +289,28 @@ public class Spider {
         }
     }
 
+    private void handleWordsNotWritten() {
+        debugLog.error("Spider - Words of some sites were not written, database is not cleared to run again");
+        consoleLog.error("Words of some sites were not written, run again to scrape them");
+    }
+
     private void handleSplashNotResponding(SplashNotRespondingException e) {
         debugLog.error("Spider - {}", e.getMessage(), e);
         consoleLog.error(e.getMessage());
     }
 
-    private void handleFinish(ScheduledExecutorService domainExec, ScheduledExecutorService dbExec) {
-        closeResources(domainExec, dbExec);
+    private void handleFinish(ExecutorService domainExec, DatabaseWriter databaseWriter) {
+        closeResources(domainExec, databaseWriter);
         debugLog.info("Spider - {} sites were scraped", scrapedDomains.size());
         consoleLog.info("Spider - {} sites were scraped", scrapedDomains.size());
         debugLog.info("Spider - Completed");
     }
 
-    private void closeResources(ScheduledExecutorService domainExec, ScheduledExecutorService dbExec) {
-        shutdownExecutorService(dbExec);
+    private void closeResources(ExecutorService domainExec, DatabaseWriter databaseWriter) {
         shutdownExecutorService(domainExec);
+        // waits until all words are written, so they are exported
+        databaseWriter.close();
+        wordsNotWritten = databaseWriter.hasFailed();
         SplashScraper.shutdown();
         debugLog.info("Spider - Resources were closed");
     }
@@ -247,4 +338,54 @@ public class Spider {
             listener.onFinished();
         }
     }
+
+    /**
+     * Domain that is submitted to be scraped with everything that is required after scraping
+     */
+    private static class ScheduledDomain {
+        private final Link domain;
+        private final SplashScraper scraper;
+        private final Set<String> words = ConcurrentHashMap.newKeySet();
+        private final CountDownLatch futureSet = new CountDownLatch(1);
+        private volatile Future<?> future;
+        private volatile ScheduledFuture<?> timeout;
+
+        ScheduledDomain(Link domain, SplashScraper scraper) {
+            this.domain = domain;
+            this.scraper = scraper;
+        }
+
+        void setFuture(Future<?> future) {
+            this.future = future;
+            futureSet.countDown();
+        }
+
+        /**
+         * Waits until future of domain is set, task of domain calls it before scraping
+         *
+         * @throws InterruptedException if interrupted while waiting
+         */
+        void awaitFuture() throws InterruptedException {
+            futureSet.await();
+        }
+
+        /**
+         * Schedules cancellation of domain after {@link Spider#DOMAIN_TIMEOUT}, it is called from task of domain,
+         * so future is already set
+         */
+        void startTimeout(ScheduledExecutorService timeoutExec) {
+            try {
+                timeout = timeoutExec.schedule(() -> future.cancel(true), DOMAIN_TIMEOUT, TimeUnit.SECONDS);
+            } catch (RejectedExecutionException e) {
+                // spider is finishing
+            }
+        }
+
+        void cancelTimeout() {
+            var timeout = this.timeout;
+            if (timeout != null) {
+                timeout.cancel(false);
+            }
+        }
+    }
 }
@@ -11,7 +11,8 @@ import java.util.Base64;
  * Splash is very flexible, because it allows to set settings with every request.
  * DefaultSplashRequestFactory tune splash to be good at extracting words.
  * It sends requests to /run, with custom script. With help of filters it ignores images, css, analytics.
- * Response status code depends on site status code
+ * Response status code depends on site status code.
+ * Script returns ETag and Last-Modified headers of page, so page can be revalidated without rendering.
  */
 public class DefaultSplashRequestFactory implements SplashRequestFactory {
     private static final MediaType JSON = MediaType.parse("application/json; charset=utf-8");
@@ -53,8 +54,25 @@ public class DefaultSplashRequestFactory implements SplashRequestFactory {
             "        html = splash:html()\n" +
             "    end\n" +
             "    local url = splash:url()\n" +
+            "    local etag, last_modified = get_validators(splash)\n" +
             "    splash:runjs(\"window.close()\")\n" +
-            "    return {html=html, url=url, frames=frames}\n" +
+            "    return {html=html, url=url, frames=frames, etag=etag, last_modified=last_modified}\n" +
+            "end\n" +
+            "\n" +
+            "function get_validators(splash)\n" +
+            "    local history = splash:history()\n" +
+            "    local etag, last_modified\n" +
+            "    if #history > 0 then\n" +
+            "        for _, header in ipairs(history[#history].response.headers) do\n" +
+            "            local name = string.lower(header.name)\n" +
+            "            if name == \"etag\" then\n" +
+            "                etag = header.value\n" +
+            "            elseif name == \"last-modified\" then\n" +
+            "                last_modified = header.value\n" +
+            "            end\n" +
+            "        end\n" +
+            "    end\n" +
+            "    return etag, last_modified\n" +
             "end\n" +
             "\n" +
             "function get_url_without_protocol(url_to_go)\n" +
@@ -1,5 +1,7 @@
 package splash;
 
+import com.google.gson.annotations.SerializedName;
+
 /**
  * Class that matches Splash JSON response
  */
@@ -7,11 +9,21 @@ public class SplashResponse {
     private final String html;
     private final String url;
     private final String[] frames;
+    // validators of main page response, null if site does not send them
+    private final String etag;
+    @SerializedName("last_modified")
+    private final String lastModified;
 
     public SplashResponse(String html, String url, String[] frames) {
+        this(html, url, frames, null, null);
+    }
+
+    public SplashResponse(String html, String url, String[] frames, String etag, String lastModified) {
         this.html = html;
         this.url = url;
         this.frames = frames;
+        this.etag = etag;
+        this.lastModified = lastModified;
     }
 
     public String getHtml() {
@@ -25,4 +37,12 @@ public class SplashResponse {
     public String[] getFrames() {
         return frames;
     }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    public String getLastModified() {
+        return lastModified;
+    }
 }
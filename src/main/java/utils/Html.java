@@ -2,44 +2,32 @@ package utils;
 
 import logger.LoggerUtils;
 import org.jetbrains.annotations.NotNull;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
 
 import java.io.IOException;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Objects;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Class that abstracts html and adds useful methods
+ * <p>
+ * Html is parsed by jsoup only once, on first {@link Html#getDocument()} call, and document is shared
+ * by all stages of html processing. Class is not thread safe.
  */
 public class Html {
-    private static final Pattern htmlTagPattern = Pattern.compile("<\\s*html[^><]*>"
-            + "|<\\s*html[^>]*>[^><]*<\\s*/\\s*html\\s*>");
-    private static final Pattern metaTagPattern = Pattern.compile("<\\s*meta[^><]*>"
-            + "|<\\s*meta[^>]*>[^><]*<\\s*/\\s*meta\\s*>");
-    private static final Pattern charsetAttrPattern = Pattern.compile("charset\\s*=\\s*\"?\\s*[\\w\\d\\-]*\\s*\"?");
-    private static final Pattern contentAttrPattern = Pattern.compile("content\\s*=\\s*\"?\\s*[\\w\\d\\-]*\\s*\"?");
-    private static final Pattern langAttrPattern    = Pattern.compile("lang\\s*=\\s*\"?\\s*[\\w\\d\\-]*\\s*\"?");
-    private static final Pattern simpleLanguageAttrPattern = Pattern.compile("language");
-
     private final String html;
     private final Link url;
     private String lang;
+    private boolean langFound;
+    private Document document;
 
     public Html(String html, @NotNull Link url) {
         this.html = html;
         this.url = url;
-        try {
-            this.lang = findLang(html);
-        } catch (Exception e) {
-            LoggerUtils.debugLog.error("HTML - Failed to parse lang on page {}", url);
-            this.lang = "";
-        }
     }
 
     public Html(String html) {
@@ -73,15 +61,25 @@ public class Html {
     }
 
     /**
-     * Gets language of html if it is specified in <i>&lt;html lang="de"&gt;</i> or <i>&lt;meta lang="de"&gt;</i> or
+     * Gets language of html if it is specified in <i>&lt;html lang="de"&gt;</i> or
      * <i>&lt;meta name="language" content="de"&gt;</i>.
      * <p>
      * Tries to find any meta tag that contains word "language" and then gets
      * content, so something like <i>&lt;meta language-not-an-attr content="de"&gt;</i> would give "de".
-     * Cannot distinguish incorrect tags from correct.
+     * Cannot distinguish incorrect tags from correct. Only head of html is read, see {@link HtmlHeadSniffer}.
+     * Language is found on first call.
      * @return lang
      */
     public String getLang() {
+        if (!langFound) {
+            try {
+                lang = HtmlHeadSniffer.sniff(html).getLang();
+            } catch (Exception e) {
+                LoggerUtils.debugLog.error("HTML - Failed to parse lang on page {}", url);
+                lang = "";
+            }
+            langFound = true;
+        }
         return lang;
     }
 
@@ -89,6 +87,19 @@ public class Html {
         return url;
     }
 
+    /**
+     * Returns html parsed by jsoup with url as base uri, so relative links can be resolved.
+     * Document is parsed on first call and cached, it must not be modified.
+     *
+     * @return parsed html
+     */
+    public Document getDocument() {
+        if (document == null) {
+            document = Jsoup.parse(html, url.toString());
+        }
+        return document;
+    }
+
     /**
      * Compares lang with comma separated languages in site.langs property. Result of comparing for html
      * without language depends on reject.html.without.lang property
@@ -97,7 +108,7 @@ public class Html {
      */
     public boolean isLangRight() {
         var siteLangs = System.getProperty("site.langs");
-        var htmlLang = lang;
+        var htmlLang = getLang();
         if (htmlLang != null) {
             for (String siteLang : siteLangs.split(",")) {
                 if (siteLang.toLowerCase().equals(htmlLang.toLowerCase())) return true;
@@ -108,51 +119,9 @@ public class Html {
         return false;
     }
 
-    // returns first charset of all in last meta tag with charset attr
-    // cannot define if meta tag is incorrect and would not be parsed by browser.
+    // returns charset of first meta tag with charset in head of html
     private static String getCharset(String html) {
-        var tags = getTagsFromHtml(html, metaTagPattern);
-        for (String tag : tags) {
-            var charset = getAttrFromHtmlElement(tag, charsetAttrPattern);
-            if (charset != null) return charset;
-        }
-        return null;
-    }
-
-    // use first html tag
-    private static String findLang(String html) {
-        var htmlTags = getTagsFromHtml(html, htmlTagPattern);
-        if (htmlTags.size() != 0) {
-            var tag = htmlTags.get(0);
-            var lang = getAttrFromHtmlElement(tag, langAttrPattern);
-            if (lang != null) return lang;
-        }
-        var metaTags = getTagsFromHtml(html, metaTagPattern);
-        for (String tag : metaTags) {
-            Matcher langMatcher = simpleLanguageAttrPattern.matcher(tag);
-            if (langMatcher.find()) {
-                return getAttrFromHtmlElement(tag, contentAttrPattern);
-            }
-        }
-        return null;
-    }
-
-    private static List<String> getTagsFromHtml(String html, Pattern tagPattern) {
-        Matcher tagMatcher = tagPattern.matcher(html);
-        var res = new ArrayList<String>();
-        while (tagMatcher.find()) {
-            res.add(tagMatcher.group());
-        }
-        return res;
-    }
-
-    private static String getAttrFromHtmlElement(String el, Pattern attrPattern) {
-        Matcher attrMatcher = attrPattern.matcher(el);
-        if (attrMatcher.find()) {
-            var htmlAttr = attrMatcher.group();
-            return htmlAttr.substring(htmlAttr.indexOf("=") + 1).replace("\\s", "").replace("\"", "");
-        }
-        return null;
+        return HtmlHeadSniffer.sniff(html).getCharset();
     }
 
     @Override
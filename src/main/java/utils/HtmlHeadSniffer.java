@@ -0,0 +1,200 @@
+package utils;
+
+/**
+ * Finds language and charset of html without regular expressions, like encoding prescan of HTML5.
+ * <p>
+ * Html is read char by char from the beginning and reading stops after <i>&lt;/head&gt;</i>, <i>&lt;body&gt;</i>
+ * or {@link HtmlHeadSniffer#MAX_HEAD_LENGTH} chars, so time does not depend on size of page. Only attributes of
+ * <i>&lt;html&gt;</i> and <i>&lt;meta&gt;</i> tags are read, comments, scripts and styles are skipped.
+ */
+class HtmlHeadSniffer {
+    static final int MAX_HEAD_LENGTH = 64 * 1024;
+
+    private final String html;
+    private final int limit;
+    private int pos;
+
+    private boolean htmlTagFound;
+    private String htmlLang;
+    private boolean metaLangFound;
+    private String metaLang;
+    private String charset;
+
+    private HtmlHeadSniffer(String html) {
+        this.html = html;
+        this.limit = Math.min(html.length(), MAX_HEAD_LENGTH);
+    }
+
+    /**
+     * @param html html
+     * @return sniffer with found language and charset
+     */
+    static HtmlHeadSniffer sniff(String html) {
+        var sniffer = new HtmlHeadSniffer(html);
+        sniffer.readHead();
+        return sniffer;
+    }
+
+    /**
+     * @return lang attr of first html tag, otherwise content attr of first meta tag that has "language" in
+     * attrs (<i>name="language"</i>, <i>http-equiv="content-language"</i>), {@code null} if there is no such tags
+     */
+    String getLang() {
+        return htmlLang != null ? htmlLang : metaLang;
+    }
+
+    /**
+     * @return charset attr or charset from content attr of first meta tag that has it, {@code null} if there is no
+     * such tag
+     */
+    String getCharset() {
+        return charset;
+    }
+
+    private void readHead() {
+        while (true) {
+            var tagStart = html.indexOf('<', pos);
+            if (tagStart == -1 || tagStart >= limit) return;
+            pos = tagStart + 1;
+            if (html.startsWith("!--", pos)) {
+                if (!skipTo("-->")) return;
+                continue;
+            }
+            var closing = pos < limit && html.charAt(pos) == '/';
+            if (closing) pos++;
+            skipWhitespace();
+            var nameStart = pos;
+            while (pos < limit && Character.isLetterOrDigit(html.charAt(pos))) {
+                pos++;
+            }
+            var nameLength = pos - nameStart;
+            // '<' in text, but <!doctype> and <?xml?> are skipped as tags
+            if (nameLength == 0 && !html.startsWith("!", pos) && !html.startsWith("?", pos)) continue;
+            if (isName(nameStart, nameLength, "head") && closing || isName(nameStart, nameLength, "body")) return;
+            if (!closing && isName(nameStart, nameLength, "html") && !htmlTagFound) {
+                htmlTagFound = true;
+                readAttrs(true);
+            } else if (!closing && isName(nameStart, nameLength, "meta")) {
+                readAttrs(false);
+            } else if (!closing && (isName(nameStart, nameLength, "script")
+                    || isName(nameStart, nameLength, "style"))) {
+                if (!skipTo(">") || !skipTo("</" + html.substring(nameStart, pos))) return;
+            } else if (!skipTo(">")) {
+                return;
+            }
+        }
+    }
+
+    // reads attrs of tag till '>', charset and lang are taken from tag only if they were not found before
+    private void readAttrs(boolean htmlTag) {
+        String lang = null;
+        String content = null;
+        String charsetAttr = null;
+        var hasLanguage = false;
+        while (true) {
+            while (pos < limit && (Character.isWhitespace(html.charAt(pos)) || html.charAt(pos) == '/')) {
+                pos++;
+            }
+            if (pos >= limit) return;
+            if (html.charAt(pos) == '>') {
+                pos++;
+                break;
+            }
+            var nameStart = pos;
+            while (pos < limit && !isAttrNameEnd(html.charAt(pos))) {
+                pos++;
+            }
+            var name = html.substring(nameStart, pos).toLowerCase();
+            String value = "";
+            skipWhitespace();
+            if (pos < limit && html.charAt(pos) == '=') {
+                pos++;
+                skipWhitespace();
+                value = readAttrValue();
+                if (value == null) return;
+            }
+            if (name.equals("lang") || name.endsWith(":lang")) lang = value;
+            if (name.equals("content")) content = value;
+            if (name.equals("charset")) charsetAttr = value;
+            if (name.contains("language") || value.toLowerCase().contains("language")) hasLanguage = true;
+        }
+        if (htmlTag) {
+            if (lang != null) htmlLang = token(lang, 0);
+            return;
+        }
+        if (hasLanguage && !metaLangFound) {
+            metaLangFound = true;
+            metaLang = content != null ? token(content, 0) : null;
+        }
+        if (charset == null) {
+            if (charsetAttr != null) {
+                charset = emptyToNull(token(charsetAttr, 0));
+            } else if (content != null) {
+                var index = content.toLowerCase().indexOf("charset");
+                var equals = index != -1 ? content.indexOf('=', index) : -1;
+                if (equals != -1) charset = emptyToNull(token(content, equals + 1));
+            }
+        }
+    }
+
+    // quoted or unquoted value, null if tag is not closed before limit
+    private String readAttrValue() {
+        if (pos >= limit) return null;
+        var quote = html.charAt(pos);
+        if (quote == '"' || quote == '\'') {
+            var end = html.indexOf(quote, pos + 1);
+            if (end == -1 || end >= limit) return null;
+            var value = html.substring(pos + 1, end);
+            pos = end + 1;
+            return value;
+        }
+        var start = pos;
+        while (pos < limit && !Character.isWhitespace(html.charAt(pos)) && html.charAt(pos) != '>') {
+            pos++;
+        }
+        return html.substring(start, pos);
+    }
+
+    // moves position after str, str is searched ignoring case
+    private boolean skipTo(String str) {
+        for (int i = pos; i + str.length() <= limit; i++) {
+            if (html.regionMatches(true, i, str, 0, str.length())) {
+                pos = i + str.length();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void skipWhitespace() {
+        while (pos < limit && Character.isWhitespace(html.charAt(pos))) {
+            pos++;
+        }
+    }
+
+    private boolean isName(int start, int length, String name) {
+        return length == name.length() && html.regionMatches(true, start, name, 0, length);
+    }
+
+    private static boolean isAttrNameEnd(char c) {
+        return Character.isWhitespace(c) || c == '=' || c == '>' || c == '/';
+    }
+
+    // first word of value (letters, digits, '_' and '-'), so "de, en" gives "de"
+    private static String token(String value, int from) {
+        var start = from;
+        while (start < value.length() && (Character.isWhitespace(value.charAt(start)) || value.charAt(start) == '"')) {
+            start++;
+        }
+        var end = start;
+        while (end < value.length() && (Character.isLetterOrDigit(value.charAt(end))
+                || value.charAt(end) == '_' || value.charAt(end) == '-')) {
+            end++;
+        }
+        return value.substring(start, end);
+    }
+
+    private static String emptyToNull(String value) {
+        return value.isEmpty() ? null : value;
+    }
+}
@@ -10,12 +10,23 @@ import java.util.regex.Pattern;
 
 /**
  * Class that abstracts url and contains useful methods
+ * <p>
+ * Link is effectively immutable: url is parsed once and does not change, values derived from it (string, path,
+ * link without <i>"www."</i>, subdomains, params, hash) are computed on first use and kept in plain fields
+ * (racy single-check caching). Other thread may not see cached value and compute the same value again, it is
+ * safe only because cached values are immutable objects or primitives, new cached fields must be the same.
+ * Use {@link LinkFactory#getLink(String)} to share instances of repeated urls.
  */
 public class Link {
     private static final String DEFAULT_PROTOCOL = "http";
     private static final Pattern schemePattern = Pattern.compile("^[a-z][a-z0-9]*://");
-    private HttpUrl httpUrl;
+    private final HttpUrl httpUrl;
     private String strUrl;
+    private String path;
+    private Link withoutWWW;
+    private Set<String> subdomains;
+    private Set<Parameter> params;
+    private int hash;
 
     /**
      * Creates Link.
@@ -42,6 +53,10 @@ public class Link {
         httpUrl = null;
     }
 
+    private Link(HttpUrl httpUrl) {
+        this.httpUrl = httpUrl;
+    }
+
     private static String fix(String url) {
         if (url.isEmpty()) return url;
         var urlFixed = fixProtocol(url);
@@ -78,56 +93,67 @@ public class Link {
      * @return link without <i>"www."</i> or <i>"www."</i> if link equals <i>"www."</i>
      */
     public Link fixWWW() {
-        if (getHost().equals("www.")) return this;
-        var fixed = getWithoutProtocol();
-        if (fixed.startsWith("www.")) {
-            fixed = fixed.substring(4);
+        if (withoutWWW == null) {
+            var host = getHost();
+            // "www." is kept with user info, it is not at the beginning of url without protocol
+            if (host.startsWith("www.") && !host.equals("www.") && getUserInfo() == null) {
+                withoutWWW = new Link(httpUrl.newBuilder().host(host.substring(4)).build());
+            } else {
+                withoutWWW = this;
+            }
         }
-        return new Link(getScheme() + "://" + fixed);
+        return withoutWWW;
     }
 
     /**
      * Return all key-value query params
      *
-     * @return params
+     * @return unmodifiable set of params
      */
     public Set<Parameter> getParams() {
-        var res = new HashSet<Parameter>();
-        var query = getQuery();
-        if (query != null) {
-            var querySplit = query.split("&");
-            for (String parameter : querySplit) {
-                var paramSplit = parameter.split("=");
-                if (paramSplit.length == 2) {
-                    var name = paramSplit[0];
-                    var value = paramSplit[1];
-                    res.add(new Parameter(name, value));
+        if (params == null) {
+            var res = new HashSet<Parameter>();
+            var query = getQuery();
+            if (query != null) {
+                var querySplit = query.split("&");
+                for (String parameter : querySplit) {
+                    var paramSplit = parameter.split("=");
+                    if (paramSplit.length == 2) {
+                        var name = paramSplit[0];
+                        var value = paramSplit[1];
+                        res.add(new Parameter(name, value));
+                    }
                 }
             }
+            params = Set.copyOf(res);
         }
-        return res;
+        return params;
     }
 
     /**
      * Returns domains, ignores top-level, second-level domain and <i>"www."</i>
      *
-     * @return domains without top-level, second level and <i>"www."</i>
+     * @return unmodifiable set of domains without top-level, second level and <i>"www."</i>
      */
     public Set<String> getSubdomains() {
-        var res = new HashSet<String>();
-        var host = getHost();
-        if (host == null) return new HashSet<>();
-        var hostSplit = host.split("\\.");
-        var levelsNumber = hostSplit.length;
-        // ignore top-level and second-level domain
-        for (int i = 0; i < levelsNumber - 2; i++) {
-            // ignore www
-            var subdomain = hostSplit[i];
-            if (!subdomain.equals("www")) {
-                res.add(subdomain);
+        if (subdomains == null) {
+            var res = new HashSet<String>();
+            var host = getHost();
+            if (host != null) {
+                var hostSplit = host.split("\\.");
+                var levelsNumber = hostSplit.length;
+                // ignore top-level and second-level domain
+                for (int i = 0; i < levelsNumber - 2; i++) {
+                    // ignore www
+                    var subdomain = hostSplit[i];
+                    if (!subdomain.equals("www")) {
+                        res.add(subdomain);
+                    }
+                }
             }
+            subdomains = Set.copyOf(res);
         }
-        return res;
+        return subdomains;
     }
 
     public String getWithoutQueryUserInfoAndFragment() {
@@ -223,12 +249,15 @@ public class Link {
      */
     public String getPath() {
         if (httpUrl == null) return "";
-        var pathSeg = httpUrl.pathSegments();
-        if (pathSeg.size() == 1 && pathSeg.get(0).equals("")) {
-            return "";
-        } else {
-            return "/" + String.join("/", pathSeg);
+        if (path == null) {
+            var pathSeg = httpUrl.pathSegments();
+            if (pathSeg.size() == 1 && pathSeg.get(0).equals("")) {
+                path = "";
+            } else {
+                path = "/" + String.join("/", pathSeg);
+            }
         }
+        return path;
     }
 
     public String getQuery() {
@@ -260,6 +289,9 @@ public class Link {
 
     @Override
     public int hashCode() {
-        return Objects.hash(httpUrl);
+        if (hash == 0) {
+            hash = Objects.hash(httpUrl);
+        }
+        return hash;
     }
 }
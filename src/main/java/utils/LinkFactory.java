@@ -1,8 +1,20 @@
 package utils;
 
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 public class LinkFactory {
+    // links that are kept, least recently used link is removed when cache is full
+    private static final int MAX_LINKS = 100_000;
+    private static final Map<String, Link> links = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Link> eldest) {
+                    return size() > MAX_LINKS;
+                }
+            });
     private static int id = -1;
     private static final HashMap<Link, Integer> domains = new HashMap<>();
 
@@ -14,4 +26,23 @@ public class LinkFactory {
             return id;
         }
     }
+
+    /**
+     * Returns shared link for url, so url that is repeated on many pages (menu, footer) is parsed once and values
+     * cached by {@link Link} are computed once. Cache keeps {@link LinkFactory#MAX_LINKS} least recently used links,
+     * so links of domains that are being scraped stay in it
+     *
+     * @param url url (host is required)
+     * @return link
+     * @throws WrongFormedLinkException if url is not valid
+     */
+    public static Link getLink(String url) {
+        var link = links.get(url);
+        if (link == null) {
+            // url is parsed without lock, other thread may put the same link, both links are equal
+            link = new Link(url);
+            links.put(url, link);
+        }
+        return link;
+    }
 }
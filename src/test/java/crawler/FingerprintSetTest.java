@@ -0,0 +1,71 @@
+package crawler;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FingerprintSetTest {
+
+    @Test
+    public void testAdd() {
+        var set = new FingerprintSet();
+        assertTrue(set.add(42));
+        assertFalse(set.add(42));
+        assertTrue(set.add(-42));
+        assertTrue(set.contains(42));
+        assertFalse(set.contains(43));
+        assertEquals(2, set.size());
+    }
+
+    @Test
+    public void testZero() {
+        var set = new FingerprintSet();
+        assertFalse(set.contains(0));
+        assertTrue(set.add(0));
+        assertFalse(set.add(0));
+        assertTrue(set.contains(0));
+        assertEquals(1, set.size());
+    }
+
+    @Test
+    public void testGrow() {
+        var set = new FingerprintSet();
+        // fingerprints with the same low bits
+        for (long i = 1; i <= 10_000; i++) {
+            assertTrue(set.add(i << 40));
+        }
+        for (long i = 1; i <= 10_000; i++) {
+            assertTrue(set.contains(i << 40));
+            assertFalse(set.add(i << 40));
+        }
+        assertEquals(10_000, set.size());
+    }
+
+    @Test
+    public void testConcurrentAdd() throws InterruptedException {
+        var set = new FingerprintSet();
+        var added = new AtomicInteger(0);
+        var threads = new ArrayList<Thread>();
+        // every fingerprint is added by all threads, only one of them succeeds
+        for (int t = 0; t < 4; t++) {
+            threads.add(new Thread(() -> {
+                for (long i = 1; i <= 50_000; i++) {
+                    if (set.add(i * 0x9E3779B97F4A7C15L)) {
+                        added.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(50_000, added.get());
+        assertEquals(50_000, set.size());
+    }
+}
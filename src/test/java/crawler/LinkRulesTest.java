@@ -0,0 +1,62 @@
+package crawler;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LinkRulesTest {
+    private final LinkRules rules = new LinkRules(
+            Set.of("impressum", "agb"), Set.of("en", "fr"), Set.of("html", "php"), Set.of("shop", "jobs")
+    );
+
+    @AfterEach
+    public void clearLangs() {
+        System.clearProperty("site.langs");
+    }
+
+    @Test
+    public void testIgnoredSegment() {
+        assertFalse(rules.isSuitable("/Impressum", "example.com"));
+        assertFalse(rules.isSuitable("/path/impressum.HTML", "example.com"));
+        assertFalse(rules.isSuitable("/agb/path", "example.com"));
+        assertTrue(rules.isSuitable("/impressum.java/path", "example.com"));
+        assertTrue(rules.isSuitable("/impressum-info", "example.com"));
+        assertTrue(rules.isSuitable("/ag", "example.com"));
+    }
+
+    @Test
+    public void testLanguage() {
+        assertFalse(rules.isSuitable("/en/path", "example.com"));
+        assertFalse(rules.isSuitable("/FR", "example.com"));
+        assertTrue(rules.isSuitable("/path/en", "example.com"));
+        System.setProperty("site.langs", "de,en");
+        assertTrue(rules.isSuitable("/en/path", "example.com"));
+        System.setProperty("site.langs", "de");
+        assertFalse(rules.isSuitable("/en/path", "example.com"));
+    }
+
+    @Test
+    public void testFileExtension() {
+        assertTrue(rules.isSuitable("", "example.com"));
+        assertTrue(rules.isSuitable("/path/", "example.com"));
+        assertTrue(rules.isSuitable("/index.PHP", "example.com"));
+        assertTrue(rules.isSuitable("/path.java/index", "example.com"));
+        assertTrue(rules.isSuitable("/index.html..", "example.com"));
+        assertTrue(rules.isSuitable("/index...", "example.com"));
+        assertFalse(rules.isSuitable("/jsoup-1.13.1.jar", "example.com"));
+        assertFalse(rules.isSuitable("/.htaccess", "example.com"));
+    }
+
+    @Test
+    public void testSubdomain() {
+        assertFalse(rules.isSuitable("", "shop.example.com"));
+        assertFalse(rules.isSuitable("", "www.jobs.example.com"));
+        assertTrue(rules.isSuitable("", "shop.com"));
+        assertTrue(rules.isSuitable("", "shops.example.com"));
+        assertTrue(rules.isSuitable("", "www.example.com"));
+        assertTrue(rules.isSuitable("", null));
+    }
+}
@@ -3,6 +3,7 @@ package database;
 import config.ConfigurationUtils;
 import database.models.Website;
 import database.models.Word;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -15,6 +16,8 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -33,6 +36,11 @@ public class DatabaseTest {
         database = Database.newInstance("websites.db");
     }
 
+    @AfterEach
+    public void closeDb() {
+        database.close();
+    }
+
     @Test
     void putWebsitesFromCSV() {
         assertTrue(database.putWebsitesFromCSV("websites_data.csv"));
@@ -96,6 +104,18 @@ public class DatabaseTest {
         assertTrue(database.putWords(words));
     }
 
+    @Test
+    public void testInsertManyWords() {
+        assertTrue(database.clearWords());
+        ArrayList<Word> words = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            words.add(Word.newInstance(1, "word" + i));
+        }
+
+        assertTrue(database.putWords(words));
+        assertEquals(100_000, database.getWordsSize());
+    }
+
     @Test
     public void testClearWebsites() {
         assertTrue(database.clearWebsites());
@@ -106,6 +126,21 @@ public class DatabaseTest {
         assertTrue(database.clearWords());
     }
 
+    @Test
+    public void testCrawlProgress() {
+        assertTrue(database.clearWords());
+        assertTrue(database.clearCrawlProgress());
+        assertEquals(0, database.getCompletedDomains().size());
+
+        assertTrue(database.putWords(List.of(Word.newInstance(1, "progress_word")), List.of("alb-dach.de")));
+        assertTrue(database.putWords(List.of(), List.of("nagel-gruppe.de")));
+        assertEquals(Set.of("alb-dach.de", "nagel-gruppe.de"), database.getCompletedDomains());
+        assertEquals(1, database.getWordsSize());
+
+        assertTrue(database.clearCrawlProgress());
+        assertEquals(0, database.getCompletedDomains().size());
+    }
+
     @Test
     public void testWordsSize() {
         assertTrue(database.clearWords());
@@ -119,7 +154,8 @@ public class DatabaseTest {
         database.putWord(Word.newInstance(4, "4test_word"));
         database.putWord(Word.newInstance(4, "4test_word"));
 
-        assertEquals(5, database.getWordsSize());
+        // the same word of the same website is stored once
+        assertEquals(4, database.getWordsSize());
     }
 
     @Test
@@ -272,4 +308,28 @@ public class DatabaseTest {
         assertEquals(testSet2, database.getWords(3));
         assertEquals(word2, database.getWord(word2Id));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testStreams() {
+        assertTrue(database.clearWebsites());
+        assertTrue(database.clearWords());
+
+        Website site1 = new Website(1, new Link("website1"));
+        Website site2 = new Website(2, new Link("website2"));
+        database.putWebsite(site1);
+        database.putWebsite(site2);
+        database.putWord(Word.newInstance(1, "word"));
+        database.putWord(Word.newInstance(2, "word"));
+        database.putWord(Word.newInstance(2, "word2"));
+
+        try (var websites = database.getWebsitesStream("word")) {
+            assertEquals(Set.of(site1, site2), websites.collect(Collectors.toSet()));
+        }
+        try (var words = database.getWordsStream(2)) {
+            assertEquals(Set.of("word", "word2"), words.map(Word::getWord).collect(Collectors.toSet()));
+        }
+        try (var words = database.getWordsStream()) {
+            assertEquals(3, words.count());
+        }
+    }
+}
@@ -8,6 +8,7 @@ import java.util.ArrayList;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class DefaultWordFilterTest {
@@ -44,4 +45,20 @@ class DefaultWordFilterTest {
         );
         assertTrue(filter.filter(filteredWords).isEmpty());
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldTrimAndLowerCaseWords() {
+        var words = Set.of("(Straße),", "--Über-Uns--", "«Zürich»");
+        assertEquals(Set.of("straße", "über-uns", "zürich"), filter.filter(words));
+    }
+
+    @Test
+    void shouldFilterWordFromText() {
+        var text = "Wir sind \"Müller-Bau\" aus 9Berlin9 und Hamburg";
+        var start = text.indexOf('"');
+        assertEquals("müller-bau", filter.filterWord(text, start, text.indexOf(' ', start)));
+        assertEquals("berlin", filter.filterWord(text, text.indexOf('9'), text.lastIndexOf('9') + 1));
+        assertNull(filter.filterWord(text, text.indexOf("und"), text.indexOf("und") + 3));
+        assertNull(filter.filterWord(text, 0, 0));
+    }
+}
@@ -0,0 +1,67 @@
+package extractor;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SimHashDuplicateDetectorTest {
+
+    // words of template and some words of content
+    private static Set<String> page(String content, int contentWords) {
+        var words = new HashSet<String>();
+        for (int i = 0; i < 300; i++) {
+            words.add("vorlage" + i);
+        }
+        for (int i = 0; i < contentWords; i++) {
+            words.add(content + i);
+        }
+        return words;
+    }
+
+    @Test
+    public void testNearDuplicate() {
+        var detector = new SimHashDuplicateDetector(3);
+        assertFalse(detector.isDuplicate(page("schraube", 5)));
+        assertTrue(detector.isDuplicate(page("schraube", 5)));
+        assertTrue(detector.isDuplicate(page("mutter", 5)));
+    }
+
+    @Test
+    public void testDifferentPages() {
+        var detector = new SimHashDuplicateDetector(3);
+        assertFalse(detector.isDuplicate(page("schraube", 5)));
+        assertFalse(detector.isDuplicate(page("mutter", 400)));
+        var other = new HashSet<String>();
+        for (int i = 0; i < 300; i++) {
+            other.add("impressum" + i);
+        }
+        assertFalse(detector.isDuplicate(other));
+    }
+
+    @Test
+    public void testSmallPagesAreNotCompared() {
+        var detector = new SimHashDuplicateDetector(3);
+        var words = Set.of("kontakt", "impressum", "startseite");
+        assertFalse(detector.isDuplicate(words));
+        assertFalse(detector.isDuplicate(words));
+    }
+
+    @Test
+    public void testDistance() {
+        var words = page("schraube", 5);
+        var changed = page("mutter", 5);
+        var distance = Long.bitCount(SimHashDuplicateDetector.simHash(words)
+                ^ SimHashDuplicateDetector.simHash(changed));
+        var detector = new SimHashDuplicateDetector(distance);
+        assertFalse(detector.isDuplicate(words));
+        assertTrue(detector.isDuplicate(changed));
+        if (distance > 0) {
+            detector = new SimHashDuplicateDetector(distance - 1);
+            assertFalse(detector.isDuplicate(words));
+            assertFalse(detector.isDuplicate(changed));
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package extractor;
+
+import org.junit.jupiter.api.Test;
+import utils.Html;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamingExtractorTest {
+    private final Extractor extractor = new StreamingExtractor();
+
+    @Test
+    void extractTest() throws IOException {
+        var html = Html.fromFile(Paths.get("src/test/resources/html_for_test.html"));
+        Set<String> expected = Set.of("&^4$", ",German,", "14", "Freundin", "In", "Juliana", "Klasse", "Morgens",
+                "Paris", "Sie", "Sommer", "Süden", "Universitätsstadt", "aus", "be1.ru", "beste", "diesem", "kommen",
+                "kommt", "noch", "r555f", "um");
+        assertEquals(new TreeSet<>(expected), new TreeSet<>(extractor.extract(html)));
+    }
+
+    @Test
+    void shouldExtractSameWordsAsDefaultExtractor() throws IOException {
+        for (var file : new String[]{"html_for_test.html", "telefort.spb.ru.html", "wikipedia.html"}) {
+            var html = Html.fromFile(Paths.get("src/test/resources", file));
+            var expected = new TreeSet<>(new DefaultExtractor().extract(html));
+            expected.remove("");
+            assertEquals(expected, new TreeSet<>(extractor.extract(html)), file);
+        }
+    }
+
+    @Test
+    void shouldSupportEncodings() throws IOException {
+        for (var file : new String[]{"UTF8.html", "UTF8_without_meta.html", "Windows1251_meta1.html",
+                "Windows1251_meta2.html"}) {
+            var res = extractor.extract(Html.fromFile(Paths.get("src/test/resources/encodings", file)));
+            assertTrue(res.contains("тест"), file);
+        }
+    }
+
+    @Test
+    void shouldSkipScriptsCommentsAndDecodeEntities() {
+        var html = new Html("<html><head><title>Titel&amp;Text</title><script>var a = '</div>';</script></head>"
+                + "<body><!-- Kommentar --><p>Gr&ouml;&szlig;e<b>n</b>&nbsp;&#228;rger</p><div>a<br>b</div> "
+                + "<a href='x>y'>Link</a> 1 < 2</body></html>");
+        var expected = Set.of("Titel&Text", "Größen", "ärger", "a", "b", "Link", "1", "<", "2");
+        assertEquals(new TreeSet<>(expected), new TreeSet<>(extractor.extract(html)));
+    }
+}
@@ -0,0 +1,74 @@
+package scraper;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AdmissionControllerTest {
+
+    // acquires place in other thread, latch is counted down when place is taken
+    private static CountDownLatch acquireAsync(AdmissionController controller, String domain) {
+        var acquired = new CountDownLatch(1);
+        var thread = new Thread(() -> {
+            try {
+                controller.acquire(domain);
+                acquired.countDown();
+            } catch (InterruptedException ignored) {
+            }
+        });
+        thread.setDaemon(true);
+        thread.start();
+        return acquired;
+    }
+
+    @Test
+    public void testAcquireBlocksUntilRelease() throws InterruptedException {
+        var controller = new AdmissionController(1, 2, 2, 0);
+        controller.acquire("a.de");
+        controller.acquire("b.de");
+        var acquired = acquireAsync(controller, "c.de");
+        assertFalse(acquired.await(200, TimeUnit.MILLISECONDS));
+
+        controller.release("a.de");
+        assertTrue(acquired.await(5, TimeUnit.SECONDS));
+        assertEquals(2, controller.getRequests());
+    }
+
+    @Test
+    public void testDomainLimit() throws InterruptedException {
+        var controller = new AdmissionController(1, 10, 2, 0);
+        controller.acquire("a.de");
+        controller.acquire("a.de");
+        var sameDomain = acquireAsync(controller, "a.de");
+        var otherDomain = acquireAsync(controller, "b.de");
+        assertTrue(otherDomain.await(5, TimeUnit.SECONDS));
+        assertFalse(sameDomain.await(200, TimeUnit.MILLISECONDS));
+
+        controller.release("b.de");
+        assertFalse(sameDomain.await(200, TimeUnit.MILLISECONDS));
+        controller.release("a.de");
+        assertTrue(sameDomain.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testOverloadDecreasesLimit() throws InterruptedException {
+        var controller = new AdmissionController(1, 4, 4, 0);
+        controller.onOverload();
+        assertEquals(2, controller.getLimit());
+        controller.acquire("a.de");
+        controller.acquire("a.de");
+        var acquired = acquireAsync(controller, "a.de");
+        assertFalse(acquired.await(200, TimeUnit.MILLISECONDS));
+
+        // limit grows back to 3 after three successes and waiting request is admitted
+        controller.onSuccess();
+        controller.onSuccess();
+        assertFalse(acquired.await(200, TimeUnit.MILLISECONDS));
+        controller.onSuccess();
+        assertEquals(3, controller.getLimit());
+        assertTrue(acquired.await(5, TimeUnit.SECONDS));
+    }
+}
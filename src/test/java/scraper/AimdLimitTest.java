@@ -0,0 +1,46 @@
+package scraper;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AimdLimitTest {
+
+    @Test
+    public void testDecreaseOnOverload() {
+        var limit = new AimdLimit(2, 10, 0);
+        assertEquals(10, limit.getLimit());
+        assertTrue(limit.onOverload());
+        assertEquals(5, limit.getLimit());
+        assertTrue(limit.onOverload());
+        assertEquals(2, limit.getLimit());
+        // min limit is reached
+        assertFalse(limit.onOverload());
+        assertEquals(2, limit.getLimit());
+    }
+
+    @Test
+    public void testOverloadIsIgnoredDuringCooldown() {
+        var limit = new AimdLimit(1, 10, 60_000);
+        assertTrue(limit.onOverload());
+        assertFalse(limit.onOverload());
+        assertEquals(5, limit.getLimit());
+    }
+
+    @Test
+    public void testAdditiveIncrease() {
+        var limit = new AimdLimit(1, 10, 0);
+        limit.onOverload();
+        assertEquals(5, limit.getLimit());
+        // limit grows by one after about a whole window of successes (1 / limit every time)
+        for (int i = 0; i < 5; i++) {
+            assertFalse(limit.onSuccess());
+        }
+        assertTrue(limit.onSuccess());
+        assertEquals(6, limit.getLimit());
+        for (int i = 0; i < 100; i++) {
+            limit.onSuccess();
+        }
+        assertEquals(10, limit.getLimit());
+    }
+}
@@ -0,0 +1,53 @@
+package scraper;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DecorrelatedJitterRetryPolicyTest {
+
+    @Test
+    public void testDelayBounds() {
+        var policy = new DecorrelatedJitterRetryPolicy(1000, 10000, 1000);
+        var delay = 0L;
+        for (int retry = 0; retry < 1000; retry++) {
+            var previous = delay;
+            delay = policy.getDelay(retry, previous);
+            assertTrue(delay >= 1000, "delay " + delay + " is less than base delay");
+            assertTrue(delay <= 10000, "delay " + delay + " is greater than max delay");
+            assertTrue(delay <= Math.max(1000, previous) * 3, "delay " + delay + " is more than tripled");
+        }
+    }
+
+    @Test
+    public void testDelaysAreSpread() {
+        // max delay is less than tripled base delay, delays still must not gather at max
+        var policy = new DecorrelatedJitterRetryPolicy(3000, 6000, 1000);
+        var atMax = 0;
+        var belowMiddle = 0;
+        var delay = 0L;
+        for (int retry = 0; retry < 1000; retry++) {
+            delay = policy.getDelay(retry, delay);
+            if (delay == 6000) atMax++;
+            if (delay < 4500) belowMiddle++;
+        }
+        assertTrue(atMax < 50, atMax + " delays of 1000 are equal to max delay");
+        assertTrue(belowMiddle > 300 && belowMiddle < 700, belowMiddle + " delays of 1000 are below middle of range");
+    }
+
+    @Test
+    public void testRetriesAreOver() {
+        var policy = new DecorrelatedJitterRetryPolicy(1000, 10000, 3);
+        assertNotEquals(-1, policy.getDelay(0, 0));
+        assertNotEquals(-1, policy.getDelay(2, 5000));
+        assertEquals(-1, policy.getDelay(3, 5000));
+        assertEquals(-1, policy.getDelay(10, 5000));
+    }
+
+    @Test
+    public void testMaxDelayLessThanBase() {
+        var policy = new DecorrelatedJitterRetryPolicy(1000, 500, 3);
+        assertEquals(1000, policy.getDelay(0, 0));
+        assertEquals(1000, policy.getDelay(1, 1000));
+    }
+}
@@ -0,0 +1,98 @@
+package scraper;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import splash.SplashResponse;
+import utils.Link;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PageCacheTest {
+    private static final long DAY = 24 * 60 * 60 * 1000L;
+
+    private Path directory;
+
+    @BeforeEach
+    public void createDirectory() throws IOException {
+        directory = Files.createTempDirectory("page-cache");
+    }
+
+    @AfterEach
+    public void deleteDirectory() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        }
+    }
+
+    @Test
+    public void testPutAndGet() {
+        var cache = new PageCache(directory, PageCache.Mode.USE, 1024 * 1024, DAY);
+        cache.put(new Link("https://www.alb-dach.de/kontakt#form"),
+                new SplashResponse("<html>Kontakt</html>", "https://alb-dach.de/kontakt", new String[]{"<p>frame</p>"}));
+
+        var entry = cache.get(new Link("http://alb-dach.de/kontakt"));
+        assertNotNull(entry);
+        assertFalse(entry.isExpired());
+        var response = entry.getResponse();
+        assertEquals("<html>Kontakt</html>", response.getHtml());
+        assertEquals("https://alb-dach.de/kontakt", response.getUrl());
+        assertEquals("<p>frame</p>", response.getFrames()[0]);
+        assertNull(cache.get(new Link("https://alb-dach.de/impressum")));
+
+        // entries are loaded by next run
+        var nextRun = new PageCache(directory, PageCache.Mode.USE, 1024 * 1024, DAY);
+        assertNotNull(nextRun.get(new Link("https://alb-dach.de/kontakt")));
+    }
+
+    @Test
+    public void testModes() {
+        var link = new Link("https://alb-dach.de");
+        var response = new SplashResponse("<html></html>", "https://alb-dach.de", null);
+
+        var bypass = new PageCache(directory, PageCache.Mode.BYPASS, 1024 * 1024, DAY);
+        bypass.put(link, response);
+        assertNull(new PageCache(directory, PageCache.Mode.USE, 1024 * 1024, DAY).get(link));
+
+        var refresh = new PageCache(directory, PageCache.Mode.REFRESH, 1024 * 1024, DAY);
+        refresh.put(link, response);
+        assertNull(refresh.get(link));
+        assertNotNull(new PageCache(directory, PageCache.Mode.USE, 1024 * 1024, DAY).get(link));
+    }
+
+    @Test
+    public void testExpiredEntry() {
+        var cache = new PageCache(directory, PageCache.Mode.USE, 1024 * 1024, -1);
+        var link = new Link("https://alb-dach.de");
+        cache.put(link, new SplashResponse("<html></html>", "https://alb-dach.de", null, "\"5e1f\"", null));
+
+        var entry = cache.get(link);
+        assertTrue(entry.isExpired());
+        assertEquals("\"5e1f\"", entry.getResponse().getEtag());
+        assertNull(entry.getResponse().getLastModified());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEviction() {
+        var html = "<html>" + "a".repeat(1000) + "</html>";
+        // compressed entry takes about 120 bytes, so two entries fit
+        var cache = new PageCache(directory, PageCache.Mode.USE, 300, DAY);
+        var first = new Link("https://alb-dach.de/1");
+        var second = new Link("https://alb-dach.de/2");
+        var third = new Link("https://alb-dach.de/3");
+        cache.put(first, new SplashResponse(html, first.toString(), null));
+        cache.put(second, new SplashResponse(html, second.toString(), null));
+        assertNotNull(cache.get(first));
+        cache.put(third, new SplashResponse(html, third.toString(), null));
+
+        assertNotNull(cache.get(first));
+        assertNull(cache.get(second));
+        assertNotNull(cache.get(third));
+    }
+}
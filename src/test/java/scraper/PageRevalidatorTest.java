@@ -0,0 +1,75 @@
+package scraper;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import splash.SplashResponse;
+
+import java.io.IOException;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PageRevalidatorTest {
+    private static final String ETAG = "\"5e1f-abc\"";
+    private static final String LAST_MODIFIED = "Wed, 21 Oct 2020 07:28:00 GMT";
+
+    private final PageRevalidator revalidator = new PageRevalidator();
+    private WireMockServer server;
+
+    @BeforeEach
+    public void startServer() {
+        server = new WireMockServer(options().dynamicPort());
+        server.start();
+    }
+
+    @AfterEach
+    public void stopServer() {
+        server.stop();
+        revalidator.shutdown();
+    }
+
+    private SplashResponse cached(String etag, String lastModified) {
+        return new SplashResponse("<html>Kontakt</html>", server.url("/kontakt"), new String[0], etag, lastModified);
+    }
+
+    private boolean isNotModified(SplashResponse cached) throws IOException {
+        var call = revalidator.newCall(cached);
+        assertNotNull(call);
+        try (var response = call.execute()) {
+            return revalidator.isNotModified(cached, response);
+        }
+    }
+
+    @Test
+    public void testNotModified() throws IOException {
+        server.stubFor(head(urlEqualTo("/kontakt"))
+                .withHeader("If-None-Match", equalTo(ETAG))
+                .willReturn(aResponse().withStatus(304)));
+        assertTrue(isNotModified(cached(ETAG, null)));
+    }
+
+    @Test
+    public void testModified() throws IOException {
+        server.stubFor(head(urlEqualTo("/kontakt"))
+                .willReturn(aResponse().withStatus(200).withHeader("ETag", "\"5e1f-def\"")));
+        assertFalse(isNotModified(cached(ETAG, null)));
+    }
+
+    @Test
+    public void testSameValidatorWithoutConditionalSupport() throws IOException {
+        server.stubFor(head(urlEqualTo("/kontakt"))
+                .willReturn(aResponse().withStatus(200).withHeader("Last-Modified", LAST_MODIFIED)));
+        assertTrue(isNotModified(cached(null, LAST_MODIFIED)));
+    }
+
+    @Test
+    public void testServerWithoutValidators() throws IOException {
+        server.stubFor(head(urlEqualTo("/kontakt")).willReturn(aResponse().withStatus(200)));
+        assertNull(revalidator.newCall(cached(null, null)));
+        assertFalse(isNotModified(cached(null, LAST_MODIFIED)));
+        server.verify(1, headRequestedFor(urlEqualTo("/kontakt")));
+    }
+}
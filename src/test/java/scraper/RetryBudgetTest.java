@@ -0,0 +1,36 @@
+package scraper;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RetryBudgetTest {
+
+    @Test
+    public void testRetriesAreLimitedByPercent() {
+        var budget = new RetryBudget(0, 20);
+        assertFalse(budget.tryAcquire());
+        for (int i = 0; i < 10; i++) {
+            budget.onSuccess();
+        }
+        // 20% of 10 successful requests
+        assertTrue(budget.tryAcquire());
+        assertTrue(budget.tryAcquire());
+        assertFalse(budget.tryAcquire());
+
+        for (int i = 0; i < 5; i++) {
+            budget.onSuccess();
+        }
+        assertTrue(budget.tryAcquire());
+        assertFalse(budget.tryAcquire());
+    }
+
+    @Test
+    public void testMinRetries() {
+        var budget = new RetryBudget(3, 20);
+        for (int i = 0; i < 3; i++) {
+            assertTrue(budget.tryAcquire());
+        }
+        assertFalse(budget.tryAcquire());
+    }
+}
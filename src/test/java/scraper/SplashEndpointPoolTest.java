@@ -0,0 +1,79 @@
+package scraper;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import utils.Link;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SplashEndpointPoolTest {
+    private SplashEndpointPool pool;
+
+    @BeforeEach
+    public void createPool() {
+        pool = new SplashEndpointPool(List.of(new Link("splash1:8050"), new Link("splash2:8050")));
+    }
+
+    @AfterEach
+    public void shutdownPool() {
+        pool.shutdown();
+    }
+
+    @Test
+    public void testLeastOutstandingRequests() {
+        var first = pool.acquire(null);
+        var second = pool.acquire(null);
+        assertNotSame(first, second);
+
+        pool.release(first, false);
+        assertSame(first, pool.acquire(null));
+        assertEquals(1, first.getOutstanding());
+        assertEquals(1, second.getOutstanding());
+    }
+
+    @Test
+    public void testRetryGoesToOtherEndpoint() {
+        var failed = pool.acquire(null);
+        pool.release(failed, true);
+        for (int i = 0; i < 5; i++) {
+            var retry = pool.acquire(failed);
+            assertNotSame(failed, retry);
+            pool.release(retry, false);
+        }
+    }
+
+    @Test
+    public void testEjection() {
+        var failing = pool.acquire(null);
+        var other = pool.acquire(null);
+        pool.release(other, false);
+        for (int i = 0; i < 3; i++) {
+            assertTrue(failing.isHealthy());
+            pool.release(failing, true);
+            if (i < 2) {
+                assertSame(failing, pool.acquire(other));
+            }
+        }
+        assertFalse(failing.isHealthy());
+        for (int i = 0; i < 5; i++) {
+            var endpoint = pool.acquire(null);
+            assertNotSame(failing, endpoint);
+            pool.release(endpoint, false);
+        }
+    }
+
+    @Test
+    public void testAllEndpointsEjected() {
+        var single = new SplashEndpointPool(List.of(new Link("splash1:8050")));
+        var endpoint = single.acquire(null);
+        for (int i = 0; i < 5; i++) {
+            single.release(endpoint, true);
+            assertSame(endpoint, single.acquire(endpoint));
+        }
+        single.release(endpoint, true);
+        single.shutdown();
+    }
+}
@@ -0,0 +1,52 @@
+package scraper;
+
+import org.jsoup.Jsoup;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StaticFetcherTest {
+    private static final String TEXT = "Wir sind ein Familienbetrieb aus Baden-Württemberg und bieten seit 1985 "
+            + "Dacheindeckungen, Spenglerarbeiten und Fassadenbau an. Unsere Mitarbeiter beraten Sie gerne vor Ort "
+            + "und erstellen Ihnen ein unverbindliches Angebot für Ihr Bauvorhaben.";
+
+    @Test
+    public void testStaticPage() {
+        assertFalse(needsJavaScript("<html><body><h1>Alb Dach</h1><p>" + TEXT + "</p>"
+                + "<noscript><img src=\"pixel.gif\"></noscript></body></html>"));
+    }
+
+    @Test
+    public void testPageWithoutText() {
+        assertTrue(needsJavaScript("<html><body><h1>Alb Dach</h1><script src=\"app.js\"></script></body></html>"));
+    }
+
+    @Test
+    public void testSinglePageApplication() {
+        assertTrue(needsJavaScript("<html><body><div id=\"app\"></div><footer>" + TEXT + "</footer></body></html>"));
+    }
+
+    @Test
+    public void testNoscriptMessage() {
+        assertTrue(needsJavaScript("<html><body><p>" + TEXT + "</p>"
+                + "<noscript>Bitte aktivieren Sie JavaScript</noscript></body></html>"));
+    }
+
+    @Test
+    public void testFramesAndRefresh() {
+        assertTrue(needsJavaScript("<html><body><p>" + TEXT + "</p><iframe src=\"/map\"></iframe></body></html>"));
+        assertTrue(needsJavaScript("<html><head><meta http-equiv=\"Refresh\" content=\"0; url=/de\"></head>"
+                + "<body><p>" + TEXT + "</p></body></html>"));
+    }
+
+    @Test
+    public void testFrameInsideNoscript() {
+        assertFalse(needsJavaScript("<html><body><noscript><iframe src=\"https://www.googletagmanager.com/ns.html"
+                + "?id=GTM-XXXX\" height=\"0\" width=\"0\"></iframe></noscript><p>" + TEXT + "</p></body></html>"));
+    }
+
+    private static boolean needsJavaScript(String html) {
+        return StaticFetcher.needsJavaScript(Jsoup.parse(html, "https://alb-dach.de"));
+    }
+}
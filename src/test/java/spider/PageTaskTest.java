@@ -0,0 +1,96 @@
+package spider;
+
+import config.ConfigurationUtils;
+import crawler.DefaultCrawler;
+import crawler.DefaultLinkFilter;
+import extractor.DefaultExtractor;
+import extractor.DefaultWordFilter;
+import extractor.SimHashDuplicateDetector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import scraper.Statistic;
+import utils.Html;
+import utils.Link;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class PageTaskTest {
+    private static final String DOMAIN = "https://alb-dach.de";
+
+    private DomainLinkQueue linkQueue;
+    private Statistic statistic;
+    private PageTask pageTask;
+
+    @BeforeEach
+    void init() {
+        ConfigurationUtils.configure();
+        var linkFilter = new DefaultLinkFilter();
+        linkFilter.addDomain();
+        var context = new DefaultContext(new DefaultCrawler(), new DefaultExtractor(), linkFilter,
+                new DefaultWordFilter(), new SimHashDuplicateDetector(3));
+        linkQueue = new DomainLinkQueue();
+        statistic = new Statistic();
+        pageTask = new PageTask(context, linkQueue, new HashSet<>(), statistic);
+    }
+
+    @Test
+    void shouldFollowNewLinksOfNearDuplicatePage() throws InterruptedException {
+        assertEquals(Set.of(link("/dach/ziegel"), link("/dach/rinne"), link("/dach/schiefer")),
+                handle("/dach", "/dach/ziegel", "/dach/rinne", "/dach/schiefer"));
+        assertEquals(0, statistic.getPagesNearDuplicate());
+
+        // second page of listing has the same template and links to products that are known and one more product
+        assertEquals(Set.of(link("/dach/dachfenster")),
+                handle("/dach?page=2", "/dach/ziegel", "/dach/rinne", "/dach/dachfenster"));
+        assertEquals(1, statistic.getPagesNearDuplicate());
+    }
+
+    // processes page and returns links which it added to queue
+    private Set<Link> handle(String path, String... linkPaths) throws InterruptedException {
+        var pageLink = link(path);
+        linkQueue.add(pageLink);
+        linkQueue.take();
+        pageTask.handlePage(new Page(new Html(listing(linkPaths), pageLink), pageLink, List.of()));
+        linkQueue.pageFinished();
+        var links = new HashSet<Link>();
+        Link link;
+        while ((link = linkQueue.take()) != null) {
+            links.add(link);
+            linkQueue.pageFinished();
+        }
+        return links;
+    }
+
+    // page of listing, template text is much longer than links
+    private static String listing(String... linkPaths) {
+        var html = new StringBuilder("<html lang=\"de\"><body><p>");
+        for (String word : templateWords()) {
+            html.append(word).append(' ');
+        }
+        html.append("</p><ul>");
+        for (String linkPath : linkPaths) {
+            html.append("<li><a href=\"").append(linkPath).append("\">Produkt</a></li>");
+        }
+        return html.append("</ul></body></html>").toString();
+    }
+
+    // words of letters only, so they pass word filter
+    private static List<String> templateWords() {
+        var words = new ArrayList<String>();
+        for (char first = 'a'; first <= 'z'; first++) {
+            for (char second = 'a'; second <= 'l'; second++) {
+                words.add("vorlage" + first + second);
+            }
+        }
+        return words;
+    }
+
+    private static Link link(String path) {
+        return new Link(DOMAIN + path);
+    }
+}
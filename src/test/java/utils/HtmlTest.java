@@ -6,6 +6,7 @@ import java.io.IOException;
 import java.nio.file.Paths;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
 public class HtmlTest {
 
@@ -43,4 +44,26 @@ public class HtmlTest {
         var lang = html.getLang();
         assertEquals("de", lang);
     }
+
+    @Test
+    void shouldReadLangAttrOnlyFromHead() {
+        var html = new Html("<html><head><!-- <meta name=\"language\" content=\"en\"> -->"
+                + "<script>var meta = '<meta name=\"language\" content=\"fr\">';</script>"
+                + "<title>Titel</title></head><body><meta name=\"language\" content=\"it\"></body></html>");
+        assertNull(html.getLang());
+    }
+
+    @Test
+    void shouldReadLangAttrInPageWithoutHeadEnd() {
+        var html = new Html("<!DOCTYPE html><html lang='de'><script>" + "{\"a\": \"<\", ".repeat(200_000));
+        assertEquals("de", html.getLang());
+    }
+
+    @Test
+    void shouldReadCharsetFromContentAttr() {
+        var sniffer = HtmlHeadSniffer.sniff("<head><meta name=\"language\" content=\"de, en\">"
+                + "<meta http-equiv=Content-Type content=\"text/html; charset=windows-1251\"></head>");
+        assertEquals("windows-1251", sniffer.getCharset());
+        assertEquals("de", sniffer.getLang());
+    }
 }
@@ -3,6 +3,7 @@ package utils;
 import org.junit.jupiter.api.Test;
 
 import java.net.IDN;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -94,4 +95,32 @@ public class LinkTest {
                 "admin/&reauth=1";
         assertEquals("breitwiesenhaus.de",new Link(url).fixWWW().getHost());
     }
+
+    @Test
+    void shouldKeepUrlWhenFixWWW() {
+        var link = new Link("https://www.breitwiesenhaus.de:8080/cms/seite?id=5#kontakt");
+        var fixed = link.fixWWW();
+        assertEquals("https://breitwiesenhaus.de:8080/cms/seite?id=5#kontakt", fixed.toString());
+        assertEquals(new Link("https://breitwiesenhaus.de:8080/cms/seite?id=5#kontakt"), fixed);
+        assertSame(fixed, link.fixWWW());
+        assertSame(fixed, fixed.fixWWW());
+    }
+
+    @Test
+    void shouldCacheDerivedValues() {
+        var link = new Link("http://shop.www.alb-dach.de/produkte?id=5&page=2");
+        assertSame(link.getPath(), link.getPath());
+        assertSame(link.getParams(), link.getParams());
+        assertEquals(Set.of(new Parameter("id", "5"), new Parameter("page", "2")), link.getParams());
+        assertEquals(Set.of("shop"), link.getSubdomains());
+        assertThrows(UnsupportedOperationException.class, () -> link.getSubdomains().add("www"));
+    }
+
+    @Test
+    void shouldShareLinksFromFactory() {
+        var url = "https://alb-dach.de/kontakt";
+        assertSame(LinkFactory.getLink(url), LinkFactory.getLink(url));
+        assertEquals(new Link(url), LinkFactory.getLink(url));
+        assertThrows(WrongFormedLinkException.class, () -> LinkFactory.getLink("wrong url [ ] & . oh so wrong"));
+    }
 }